@@ -2,14 +2,38 @@ package GUI;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 public class AnalysisDialog extends JDialog {
+    // Fixed so rerunning the simulation on an unchanged plan gives the same numbers
+    private static final long SIMULATION_SEED = 20250101L;
+    private static final int HISTOGRAM_BINS = 12;
+
     private Project project;
     private JTextArea resultArea;
     private ButtonGroup analysisGroup;
+    private JTextField windowStartField;
+    private JTextField windowEndField;
+    private JTextField impactTaskField;
+    private JTextField impactOtherField;
+    private JTextField trialsField;
+    private JButton analyzeButton;
+    private JButton previousPageButton;
+    private JButton nextPageButton;
+    private JPanel pagePanel;
+    private JLabel pageLabel;
+    private PagedText pages;
+    // The running analysis, cancelled when the dialog is closed
+    private SwingWorker<PagedText, Void> worker;
+    private int pageIndex;
     private String analysisResult;
 
     public AnalysisDialog(JFrame parent, Project project) {
@@ -18,14 +42,14 @@ public class AnalysisDialog extends JDialog {
         initializeUI();
         pack();
         setLocationRelativeTo(parent);
-        setSize(600, 500);
+        setSize(700, 700);
     }
 
     private void initializeUI() {
         setLayout(new BorderLayout());
 
         // Analysis options panel
-        JPanel optionsPanel = new JPanel(new GridLayout(5, 1));
+        JPanel optionsPanel = new JPanel(new GridLayout(14, 1));
         optionsPanel.setBorder(BorderFactory.createTitledBorder("Analysis Options"));
 
         analysisGroup = new ButtonGroup();
@@ -34,21 +58,76 @@ public class AnalysisDialog extends JDialog {
         JRadioButton overlappingTasksBtn = new JRadioButton("Overlapping tasks");
         JRadioButton resourcesTeamsBtn = new JRadioButton("Resources and teams");
         JRadioButton effortBreakdownBtn = new JRadioButton("Effort breakdown: Resource-wise");
+        JRadioButton allOverlapsBtn = new JRadioButton("All overlapping task pairs (plan-wide)");
+        JRadioButton timeWindowBtn = new JRadioButton("Tasks active in time window");
+        JRadioButton criticalPathBtn = new JRadioButton("Critical path (CPM) and slack per task");
+        JRadioButton overAllocationBtn = new JRadioButton("Resource over-allocation (above 100%)");
+        JRadioButton cyclesBtn = new JRadioButton("Dependency cycles");
+        JRadioButton impactBtn = new JRadioButton("Dependency impact: upstream and downstream of a task");
+        JRadioButton riskBtn = new JRadioButton("Schedule risk: Monte Carlo finish dates (P50/P80/P95)");
 
         completionTimeBtn.setActionCommand("completion");
         overlappingTasksBtn.setActionCommand("overlapping");
         resourcesTeamsBtn.setActionCommand("teams");
         effortBreakdownBtn.setActionCommand("effort");
+        allOverlapsBtn.setActionCommand("allOverlaps");
+        timeWindowBtn.setActionCommand("window");
+        criticalPathBtn.setActionCommand("criticalPath");
+        overAllocationBtn.setActionCommand("overAllocation");
+        cyclesBtn.setActionCommand("cycles");
+        impactBtn.setActionCommand("impact");
+        riskBtn.setActionCommand("risk");
 
         analysisGroup.add(completionTimeBtn);
         analysisGroup.add(overlappingTasksBtn);
         analysisGroup.add(resourcesTeamsBtn);
         analysisGroup.add(effortBreakdownBtn);
+        analysisGroup.add(allOverlapsBtn);
+        analysisGroup.add(timeWindowBtn);
+        analysisGroup.add(criticalPathBtn);
+        analysisGroup.add(overAllocationBtn);
+        analysisGroup.add(cyclesBtn);
+        analysisGroup.add(impactBtn);
+        analysisGroup.add(riskBtn);
 
         optionsPanel.add(completionTimeBtn);
         optionsPanel.add(overlappingTasksBtn);
         optionsPanel.add(resourcesTeamsBtn);
         optionsPanel.add(effortBreakdownBtn);
+        optionsPanel.add(allOverlapsBtn);
+        optionsPanel.add(timeWindowBtn);
+        optionsPanel.add(criticalPathBtn);
+        optionsPanel.add(overAllocationBtn);
+        optionsPanel.add(cyclesBtn);
+        optionsPanel.add(impactBtn);
+
+        // Time window for the window query
+        JPanel windowPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        windowStartField = new JTextField("20250101+0800", 12);
+        windowEndField = new JTextField("20250131+1700", 12);
+        windowPanel.add(new JLabel("Window from:"));
+        windowPanel.add(windowStartField);
+        windowPanel.add(new JLabel("to:"));
+        windowPanel.add(windowEndField);
+        optionsPanel.add(windowPanel);
+
+        // Tasks for the impact query
+        JPanel impactPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        impactTaskField = new JTextField(6);
+        impactOtherField = new JTextField(6);
+        impactPanel.add(new JLabel("Impact of task:"));
+        impactPanel.add(impactTaskField);
+        impactPanel.add(new JLabel("compared with task (optional):"));
+        impactPanel.add(impactOtherField);
+        optionsPanel.add(impactPanel);
+        optionsPanel.add(riskBtn);
+
+        // Trial count for the schedule risk simulation
+        JPanel riskPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        trialsField = new JTextField("10000", 8);
+        riskPanel.add(new JLabel("Simulation trials:"));
+        riskPanel.add(trialsField);
+        optionsPanel.add(riskPanel);
 
         // Result area
         resultArea = new JTextArea(15, 50);
@@ -56,101 +135,443 @@ public class AnalysisDialog extends JDialog {
         resultArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
         JScrollPane scrollPane = new JScrollPane(resultArea);
 
+        // Results are shown a page at a time; later pages are loaded when turned to
+        pagePanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        previousPageButton = new JButton("< Previous");
+        nextPageButton = new JButton("Next >");
+        pageLabel = new JLabel();
+        previousPageButton.addActionListener(e -> showPage(pageIndex - 1));
+        nextPageButton.addActionListener(e -> showPage(pageIndex + 1));
+        pagePanel.add(previousPageButton);
+        pagePanel.add(pageLabel);
+        pagePanel.add(nextPageButton);
+        pagePanel.setVisible(false);
+
+        JPanel resultPanel = new JPanel(new BorderLayout());
+        resultPanel.add(scrollPane, BorderLayout.CENTER);
+        resultPanel.add(pagePanel, BorderLayout.SOUTH);
+
         // Buttons
         JPanel buttonPanel = new JPanel();
-        JButton analyzeBtn = new JButton("Analyze");
+        analyzeButton = new JButton("Analyze");
         JButton closeBtn = new JButton("Close");
 
-        analyzeBtn.addActionListener(e -> performAnalysis());
+        analyzeButton.addActionListener(e -> performAnalysis());
         closeBtn.addActionListener(e -> dispose());
 
-        buttonPanel.add(analyzeBtn);
+        buttonPanel.add(analyzeButton);
         buttonPanel.add(closeBtn);
 
         add(optionsPanel, BorderLayout.NORTH);
-        add(scrollPane, BorderLayout.CENTER);
+        add(resultPanel, BorderLayout.CENTER);
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
+    // Analyses run off the event thread on one snapshot, so the project can be edited meanwhile
     private void performAnalysis() {
-        resultArea.setText("");
-        StringBuilder result = new StringBuilder();
-        
         String selected = analysisGroup.getSelection().getActionCommand();
-        
-        switch (selected) {
-            case "completion":
-                analyzeCompletionTime(result);
-                break;
-            case "overlapping":
-                analyzeOverlappingTasks(result);
-                break;
-            case "teams":
-                analyzeResourcesAndTeams(result);
-                break;
-            case "effort":
-                analyzeEffortBreakdown(result);
-                break;
+        String windowStart = windowStartField.getText().trim();
+        String windowEnd = windowEndField.getText().trim();
+        String impactTask = impactTaskField.getText().trim();
+        String impactOther = impactOtherField.getText().trim();
+        String trials = trialsField.getText().trim();
+        ProjectSnapshot snapshot = project.snapshot();
+
+        analyzeButton.setEnabled(false);
+        resultArea.setText("Analyzing...");
+        worker = new SwingWorker<PagedText, Void>() {
+            // Handed over under the worker's lock; after a cancel, done() cannot get() it
+            private PagedText finished;
+
+            @Override
+            protected PagedText doInBackground() {
+                PagedText result = new PagedText();
+                try {
+                    runAnalysis(result);
+                    result.finish();
+                    synchronized (this) {
+                        if (isCancelled()) {
+                            result.close();
+                            return null;
+                        }
+                        finished = result;
+                    }
+                    return result;
+                } catch (RuntimeException e) {
+                    result.close();
+                    throw e;
+                }
+            }
+
+            private void runAnalysis(PagedText result) {
+                switch (selected) {
+                    case "completion":
+                        analyzeCompletionTime(snapshot, result);
+                        break;
+                    case "overlapping":
+                        analyzeOverlappingTasks(snapshot, result);
+                        break;
+                    case "teams":
+                        analyzeResourcesAndTeams(snapshot, result);
+                        break;
+                    case "effort":
+                        analyzeEffortBreakdown(snapshot, result);
+                        break;
+                    case "allOverlaps":
+                        analyzeAllOverlappingPairs(snapshot, result);
+                        break;
+                    case "window":
+                        analyzeTimeWindow(snapshot, windowStart, windowEnd, result);
+                        break;
+                    case "criticalPath":
+                        analyzeCriticalPath(snapshot, result);
+                        break;
+                    case "overAllocation":
+                        analyzeOverAllocation(snapshot, result);
+                        break;
+                    case "cycles":
+                        analyzeDependencyCycles(snapshot, result);
+                        break;
+                    case "impact":
+                        analyzeDependencyImpact(snapshot, impactTask, impactOther, result);
+                        break;
+                    case "risk":
+                        analyzeScheduleRisk(snapshot, trials, result);
+                        break;
+                }
+            }
+
+            @Override
+            protected void done() {
+                analyzeButton.setEnabled(true);
+                PagedText result;
+                try {
+                    result = get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (CancellationException e) {
+                    // Cancelled after the hand-over; otherwise doInBackground closes it
+                    synchronized (this) {
+                        if (finished != null) {
+                            finished.close();
+                            finished = null;
+                        }
+                    }
+                    return;
+                } catch (ExecutionException e) {
+                    result = new PagedText();
+                    result.append("Analysis failed: " + e.getCause().getMessage());
+                    result.finish();
+                }
+                // Closed while the analysis ran; dispose() has already released the old pages
+                if (!isDisplayable()) {
+                    result.close();
+                    return;
+                }
+                setPages(result);
+            }
+        };
+        worker.execute();
+    }
+
+    private void setPages(PagedText result) {
+        if (pages != null) {
+            pages.close();
         }
-        
-        analysisResult = result.toString();
-        resultArea.setText(analysisResult);
+        pages = result;
+        analysisResult = result.getPage(0);
+        if (result.getPageCount() > 1) {
+            analysisResult += String.format("%n... first %d of %d lines shown; press Analyze again to page through the rest%n",
+                PagedText.PAGE_LINES, result.getLineCount());
+        }
+        pagePanel.setVisible(result.getPageCount() > 1);
+        showPage(0);
+    }
+
+    private void showPage(int index) {
+        pageIndex = index;
+        try {
+            resultArea.setText(pages.getPage(index));
+        } catch (UncheckedIOException e) {
+            resultArea.setText("Could not read page " + (index + 1) + ": " + e.getCause().getMessage());
+        }
+        resultArea.setCaretPosition(0);
+        pageLabel.setText(String.format("Page %d of %d (%d lines)", index + 1, pages.getPageCount(),
+            pages.getLineCount()));
+        previousPageButton.setEnabled(index > 0);
+        nextPageButton.setEnabled(index < pages.getPageCount() - 1);
     }
 
-    private void analyzeCompletionTime(StringBuilder result) {
+    // The spilled pages are only needed while the dialog is open
+    @Override
+    public void dispose() {
+        if (worker != null) {
+            worker.cancel(true);
+        }
+        if (pages != null) {
+            pages.close();
+        }
+        super.dispose();
+    }
+
+    private void analyzeCompletionTime(ProjectSnapshot snapshot, PagedText result) {
         result.append("PROJECT COMPLETION ANALYSIS\n");
         result.append("===========================\n\n");
         
         result.append("Project Completion Time: ")
-              .append(project.getProjectCompletionTime())
+              .append(snapshot.getProjectCompletionTime())
               .append("\n");
         result.append("Project Duration: ")
               .append(String.format("%.2f hours (%.2f days)", 
-                  project.getProjectDurationInHours(),
-                  project.getProjectDurationInHours() / 24))
+                  snapshot.getProjectDurationInHours(),
+                  snapshot.getProjectDurationInHours() / 24))
               .append("\n");
     }
 
-    private void analyzeOverlappingTasks(StringBuilder result) {
+    private void analyzeOverlappingTasks(ProjectSnapshot snapshot, PagedText result) {
         result.append("OVERLAPPING TASKS ANALYSIS\n");
         result.append("==========================\n\n");
         
-        List<String> overlapping = project.findOverlappingTasks();
-        if (overlapping.isEmpty()) {
-            result.append("No overlapping tasks found.\n");
-        } else {
-            result.append("Overlapping task pairs:\n");
-            for (String pair : overlapping) {
-                result.append("  • ").append(pair).append("\n");
+        int[] count = new int[1];
+        snapshot.forEachOverlappingDependency((task, depTask) -> {
+            if (count[0]++ == 0) {
+                result.append("Overlapping task pairs:\n");
             }
+            result.append(String.format("  • Task %d ('%s') overlaps with dependency Task %d ('%s')%n",
+                task.getId(), task.getTitle(), depTask.getId(), depTask.getTitle()));
+        });
+        if (count[0] == 0) {
+            result.append("No overlapping tasks found.\n");
         }
     }
 
-    private void analyzeResourcesAndTeams(StringBuilder result) {
+    private void analyzeResourcesAndTeams(ProjectSnapshot snapshot, PagedText result) {
         result.append("RESOURCES AND TEAMS ANALYSIS\n");
         result.append("============================\n\n");
         
         result.append("Task Teams:\n");
-        project.getTasks().keySet().stream()
-            .sorted()
-            .forEach(taskId -> {
-                Set<String> team = project.getTeamForTask(taskId);
-                result.append(String.format("  Task %d: %s%n", taskId, 
-                    team.isEmpty() ? "No team assigned" : String.join(", ", team)));
-            });
+        for (int taskId : snapshot.sortedTaskIds()) {
+            Set<String> team = snapshot.getTeamForTask(taskId);
+            result.append(String.format("  Task %d: %s%n", taskId, 
+                team.isEmpty() ? "No team assigned" : String.join(", ", team)));
+        }
     }
 
-    private void analyzeEffortBreakdown(StringBuilder result) {
+    private void analyzeEffortBreakdown(ProjectSnapshot snapshot, PagedText result) {
         result.append("EFFORT BREAKDOWN ANALYSIS\n");
         result.append("=========================\n\n");
         
-        Map<String, Double> effort = project.getResourceEffort();
+        Map<String, Double> effort = snapshot.getResourceEffort();
         result.append("Resource Effort (in hours):\n");
         for (Map.Entry<String, Double> entry : effort.entrySet()) {
             result.append(String.format("  %-10s: %6.2f hours%n", entry.getKey(), entry.getValue()));
         }
     }
 
+    private void analyzeAllOverlappingPairs(ProjectSnapshot snapshot, PagedText result) {
+        result.append("PLAN-WIDE OVERLAP ANALYSIS\n");
+        result.append("==========================\n\n");
+        
+        // Streamed as the sweep finds them, so the count comes last
+        long[] count = new long[1];
+        snapshot.forEachOverlappingPair((first, second) -> {
+            if (count[0]++ == 0) {
+                result.append("Overlapping task pairs:\n");
+            }
+            result.append(String.format("  • Task %d ('%s') overlaps with Task %d ('%s')%n",
+                first.getId(), first.getTitle(), second.getId(), second.getTitle()));
+        });
+        if (count[0] == 0) {
+            result.append("No overlapping tasks found.\n");
+        } else {
+            result.append("\nTotal: ").append(count[0]).append(" overlapping pairs\n");
+        }
+    }
+
+    private void analyzeTimeWindow(ProjectSnapshot snapshot, String windowStart, String windowEnd,
+                                   PagedText result) {
+        result.append("TIME WINDOW ANALYSIS\n");
+        result.append("====================\n\n");
+        
+        LocalDateTime from;
+        LocalDateTime to;
+        try {
+            from = parseDateTime(windowStart);
+            to = parseDateTime(windowEnd);
+        } catch (IllegalArgumentException e) {
+            result.append(e.getMessage()).append("\n");
+            return;
+        }
+        
+        List<Task> active = snapshot.findTasksInWindow(from, to);
+        result.append("Window: ").append(from).append(" to ").append(to).append("\n\n");
+        if (active.isEmpty()) {
+            result.append("No tasks in this window.\n");
+        } else {
+            result.append("Tasks in window (").append(active.size()).append("):\n");
+            for (Task task : active) {
+                result.append("  • ").append(task).append("\n");
+            }
+        }
+    }
+
+    private void analyzeCriticalPath(ProjectSnapshot snapshot, PagedText result) {
+        result.append("CRITICAL PATH ANALYSIS\n");
+        result.append("======================\n\n");
+        
+        CriticalPathAnalyzer.Result cpm;
+        try {
+            cpm = snapshot.analyzeCriticalPath();
+        } catch (IllegalStateException e) {
+            result.append(e.getMessage()).append("\n");
+            return;
+        }
+        
+        result.append("Earliest finish: ").append(cpm.getProjectFinish()).append("\n");
+        result.append("Critical path:\n");
+        for (Task task : cpm.getCriticalPath()) {
+            result.append("  • ").append(task).append("\n");
+        }
+        
+        result.append("\nSchedule (topological order, float in hours):\n");
+        result.append(String.format("  %-6s %-17s %-17s %-17s %-17s %8s%n",
+            "Task", "Earliest start", "Earliest finish", "Latest start", "Latest finish", "Float"));
+        for (int i = 0; i < cpm.size(); i++) {
+            result.append(String.format("  %-6d %-17s %-17s %-17s %-17s %8.2f%n",
+                cpm.getTask(i).getId(),
+                cpm.toDateTime(cpm.getEarliestStart(i)),
+                cpm.toDateTime(cpm.getEarliestFinish(i)),
+                cpm.toDateTime(cpm.getLatestStart(i)),
+                cpm.toDateTime(cpm.getLatestFinish(i)),
+                cpm.getTotalFloat(i) / 60.0));
+        }
+    }
+
+    private void analyzeOverAllocation(ProjectSnapshot snapshot, PagedText result) {
+        result.append("RESOURCE OVER-ALLOCATION ANALYSIS\n");
+        result.append("=================================\n\n");
+        
+        List<OverAllocationDetector.OverAllocation> overAllocations = snapshot.findOverAllocations();
+        if (overAllocations.isEmpty()) {
+            result.append("No resource is booked above 100%.\n");
+        } else {
+            result.append("Intervals above 100% load:\n");
+            for (OverAllocationDetector.OverAllocation overAllocation : overAllocations) {
+                result.append("  • ").append(overAllocation).append("\n");
+            }
+        }
+    }
+
+    private void analyzeDependencyCycles(ProjectSnapshot snapshot, PagedText result) {
+        result.append("DEPENDENCY CYCLE ANALYSIS\n");
+        result.append("=========================\n\n");
+        
+        List<DependencyCycleDetector.Cycle> cycles = snapshot.findDependencyCycles();
+        if (cycles.isEmpty()) {
+            result.append("No dependency cycles found.\n");
+        } else {
+            result.append("Tasks that depend on each other in a loop:\n");
+            for (DependencyCycleDetector.Cycle cycle : cycles) {
+                result.append("  • ").append(cycle).append("\n");
+            }
+        }
+    }
+
+    private void analyzeDependencyImpact(ProjectSnapshot snapshot, String taskText, String otherText,
+                                         PagedText result) {
+        result.append("DEPENDENCY IMPACT ANALYSIS\n");
+        result.append("==========================\n\n");
+        
+        int taskId;
+        Integer otherId = null;
+        try {
+            taskId = Integer.parseInt(taskText);
+            if (!otherText.isEmpty()) {
+                otherId = Integer.parseInt(otherText);
+            }
+        } catch (NumberFormatException e) {
+            result.append("Invalid task id. Enter a number.\n");
+            return;
+        }
+        
+        Task task = snapshot.getTasks().get(taskId);
+        if (task == null) {
+            result.append("No task with id ").append(taskId).append(".\n");
+            return;
+        }
+        result.append("Task: ").append(task).append("\n\n");
+        
+        List<Task> downstream = snapshot.findDownstreamTasks(taskId);
+        result.append("Tasks affected if it slips (").append(downstream.size()).append("):\n");
+        for (Task affected : downstream) {
+            result.append("  • ").append(affected).append("\n");
+        }
+        
+        List<Task> upstream = snapshot.findUpstreamTasks(taskId);
+        result.append("\nTasks it depends on, directly or not (").append(upstream.size()).append("):\n");
+        for (Task dependency : upstream) {
+            result.append("  • ").append(dependency).append("\n");
+        }
+        
+        if (otherId != null) {
+            result.append("\nTask ").append(taskId).append(" is upstream of task ").append(otherId).append(": ")
+                  .append(snapshot.isUpstream(taskId, otherId) ? "yes" : "no").append("\n");
+            result.append("Task ").append(otherId).append(" is upstream of task ").append(taskId).append(": ")
+                  .append(snapshot.isUpstream(otherId, taskId) ? "yes" : "no").append("\n");
+        }
+    }
+
+    private void analyzeScheduleRisk(ProjectSnapshot snapshot, String trialsText, PagedText result) {
+        result.append("SCHEDULE RISK ANALYSIS\n");
+        result.append("======================\n\n");
+        
+        int trials;
+        try {
+            trials = Integer.parseInt(trialsText);
+        } catch (NumberFormatException e) {
+            result.append("Invalid trial count. Enter a number.\n");
+            return;
+        }
+        
+        ScheduleSimulator.Result risk;
+        try {
+            risk = snapshot.simulateSchedule(trials, SIMULATION_SEED);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            result.append(e.getMessage()).append("\n");
+            return;
+        }
+        
+        result.append(String.format("Trials: %d, task durations %.0f%%-%.0f%% of plan (triangular)%n%n",
+            risk.getTrials(), ScheduleSimulator.OPTIMISTIC * 100, ScheduleSimulator.PESSIMISTIC * 100));
+        result.append("Planned finish: ").append(risk.getPlannedFinish()).append(String.format(
+            " (met in %.1f%% of trials)%n", risk.getOnTimeProbability() * 100));
+        result.append("P50 finish:     ").append(risk.getPercentile(0.50)).append("\n");
+        result.append("P80 finish:     ").append(risk.getPercentile(0.80)).append("\n");
+        result.append("P95 finish:     ").append(risk.getPercentile(0.95)).append("\n");
+        result.append("Mean finish:    ").append(risk.getMeanFinish()).append("\n");
+        result.append("Range:          ").append(risk.getEarliestFinish())
+              .append(" to ").append(risk.getLatestFinish()).append("\n");
+        
+        result.append("\nFinish distribution:\n");
+        int[] histogram = risk.getHistogram(HISTOGRAM_BINS);
+        int largest = Arrays.stream(histogram).max().orElse(1);
+        for (int bin = 0; bin < histogram.length; bin++) {
+            result.append(String.format("  %-17s %6d %s%n", risk.getHistogramBinStart(HISTOGRAM_BINS, bin),
+                histogram[bin], "#".repeat((int) Math.round(40.0 * histogram[bin] / largest))));
+        }
+    }
+
+    private LocalDateTime parseDateTime(String dateTimeStr) {
+        try {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+            String normalized = dateTimeStr.replace("+", "");
+            return LocalDateTime.parse(normalized, formatter);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid date format. Use: yyyyMMdd+HHmm");
+        }
+    }
+
     public String getAnalysisResult() {
         return analysisResult;
     }
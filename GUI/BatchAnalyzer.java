@@ -0,0 +1,253 @@
+package GUI;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Headless batch mode: loads and analyzes many tasks/resources pairs concurrently
+// and writes one JSON object per project, one per line, as each one finishes.
+//
+//   ProjectPlanner --batch [--concurrency N] [--out FILE] (DIRECTORY | --manifest FILE)
+//
+// A directory is searched recursively for folders holding both tasks.txt and
+// resources.txt. A manifest lists one "tasksFile,resourcesFile" pair per line,
+// relative to the manifest; blank lines and lines starting with # are skipped.
+//
+// Projects run on virtual threads when the runtime has them and on a fixed pool
+// otherwise; either way at most N (default: number of cores) are in flight.
+// Results go to stdout or FILE; progress messages are moved to stderr.
+class BatchAnalyzer {
+    private static final String USAGE =
+        "Usage: ProjectPlanner --batch [--concurrency N] [--out FILE] (DIRECTORY | --manifest FILE)";
+
+    // One tasks/resources pair to analyze
+    static class PlanFiles {
+        final String name;
+        final Path tasksFile;
+        final Path resourcesFile;
+
+        PlanFiles(String name, Path tasksFile, Path resourcesFile) {
+            this.name = name;
+            this.tasksFile = tasksFile;
+            this.resourcesFile = resourcesFile;
+        }
+    }
+
+    private BatchAnalyzer() {
+    }
+
+    // Returns the process exit code: 0 when every project was analyzed, 1 if any failed, 2 on bad usage
+    static int run(String[] args) {
+        int concurrency = Runtime.getRuntime().availableProcessors();
+        Path out = null;
+        Path manifest = null;
+        Path directory = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--concurrency": concurrency = Integer.parseInt(args[++i]); break;
+                    case "--out": out = Paths.get(args[++i]); break;
+                    case "--manifest": manifest = Paths.get(args[++i]); break;
+                    default:
+                        if (args[i].startsWith("--") || directory != null) {
+                            throw new IllegalArgumentException(args[i]);
+                        }
+                        directory = Paths.get(args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        if ((manifest == null) == (directory == null) || concurrency < 1) {
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        // Project.load* report progress on System.out, which now carries results only
+        PrintStream stdout = System.out;
+        System.setOut(System.err);
+        try {
+            List<PlanFiles> plans = manifest != null ? readManifest(manifest) : findPlans(directory);
+            try (Writer writer = out != null
+                    ? Files.newBufferedWriter(out, StandardCharsets.UTF_8)
+                    : new BufferedWriter(new OutputStreamWriter(stdout, StandardCharsets.UTF_8))) {
+                int failed = analyzeAll(plans, concurrency, writer);
+                System.err.printf("Analyzed %d projects, %d failed%n", plans.size(), failed);
+                return failed == 0 ? 0 : 1;
+            }
+        } catch (IOException e) {
+            System.err.println("Batch analysis failed: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Batch analysis interrupted");
+            return 1;
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+
+    static List<PlanFiles> findPlans(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths
+                .filter(Files::isDirectory)
+                .filter(dir -> Files.isRegularFile(dir.resolve("tasks.txt"))
+                    && Files.isRegularFile(dir.resolve("resources.txt")))
+                .sorted()
+                .map(dir -> {
+                    String name = directory.relativize(dir).toString();
+                    return new PlanFiles(name.isEmpty() ? "." : name,
+                        dir.resolve("tasks.txt"), dir.resolve("resources.txt"));
+                })
+                .collect(Collectors.toList());
+        }
+    }
+
+    static List<PlanFiles> readManifest(Path manifest) throws IOException {
+        Path base = manifest.toAbsolutePath().getParent();
+        List<PlanFiles> plans = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] parts = line.split(",");
+            if (parts.length != 2) {
+                throw new IOException("Invalid manifest line " + lineNumber + ": " + line);
+            }
+            // Named after the folder of the tasks file, as in directory mode
+            Path tasksFile = Paths.get(parts[0].trim());
+            String name = tasksFile.getParent() != null ? tasksFile.getParent().toString() : tasksFile.toString();
+            plans.add(new PlanFiles(name, base.resolve(tasksFile), base.resolve(parts[1].trim())));
+        }
+        return plans;
+    }
+
+    // Returns the number of projects that could not be analyzed
+    static int analyzeAll(List<PlanFiles> plans, int concurrency, Writer writer)
+            throws IOException, InterruptedException {
+        Semaphore slots = new Semaphore(concurrency);
+        AtomicInteger failed = new AtomicInteger();
+        AtomicReference<IOException> writeError = new AtomicReference<>();
+
+        ExecutorService executor = newExecutor(concurrency);
+        try {
+            for (PlanFiles plan : plans) {
+                slots.acquire();
+                executor.execute(() -> {
+                    try {
+                        long started = System.nanoTime();
+                        StringBuilder json = new StringBuilder(256);
+                        try {
+                            appendPlan(plan, json);
+                            appendAnalysis(plan, json);
+                        } catch (Exception e) {
+                            // Start over so a half-written record is not mixed with the error
+                            failed.incrementAndGet();
+                            json.setLength(0);
+                            appendPlan(plan, json);
+                            json.append(",\"status\":\"error\",\"error\":").append(Json.quote(e.getMessage()));
+                        }
+                        json.append(",\"millis\":").append((System.nanoTime() - started) / 1_000_000).append('}');
+                        synchronized (writer) {
+                            writer.write(json.toString());
+                            writer.write('\n');
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        writeError.compareAndSet(null, e);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        }
+        if (writeError.get() != null) {
+            throw writeError.get();
+        }
+        return failed.get();
+    }
+
+    // Virtual threads (Java 21+) are looked up reflectively so the tree still builds on 17
+    private static ExecutorService newExecutor(int concurrency) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(concurrency);
+        }
+    }
+
+    // Opens a record with the fields that identify the project
+    private static void appendPlan(PlanFiles plan, StringBuilder json) {
+        json.append("{\"project\":").append(Json.quote(plan.name))
+            .append(",\"tasksFile\":").append(Json.quote(plan.tasksFile))
+            .append(",\"resourcesFile\":").append(Json.quote(plan.resourcesFile));
+    }
+
+    // Loads one project and appends the results of every analysis
+    private static void appendAnalysis(PlanFiles plan, StringBuilder json) throws FileParseException {
+        Project project = new Project();
+        project.loadTasks(plan.tasksFile.toString());
+        project.loadResources(plan.resourcesFile.toString());
+
+        json.append(",\"status\":\"ok\"")
+            .append(",\"tasks\":").append(project.getTaskCount())
+            .append(",\"resources\":").append(project.getResources().size())
+            .append(",\"completionTime\":").append(Json.quote(project.getProjectCompletionTime()))
+            .append(",\"durationHours\":").append(Json.number(project.getProjectDurationInHours()))
+            .append(",\"overlappingDependencies\":").append(project.findOverlappingTasks().size())
+            .append(",\"overAllocations\":").append(project.findOverAllocations().size());
+
+        json.append(",\"resourceEffort\":{");
+        boolean first = true;
+        for (Map.Entry<String, Double> entry : project.getResourceEffort().entrySet()) {
+            if (!first) json.append(',');
+            json.append(Json.quote(entry.getKey())).append(':').append(Json.number(entry.getValue()));
+            first = false;
+        }
+        json.append('}');
+
+        List<DependencyCycleDetector.Cycle> cycles = project.findDependencyCycles();
+        json.append(",\"dependencyCycles\":[");
+        for (int i = 0; i < cycles.size(); i++) {
+            if (i > 0) json.append(',');
+            json.append(cycles.get(i).getTaskIds());
+        }
+        json.append(']');
+
+        // The schedule is only defined for non-empty, acyclic plans
+        if (cycles.isEmpty() && project.getTaskCount() > 0) {
+            CriticalPathAnalyzer.Result cpm = project.analyzeCriticalPath();
+            json.append(",\"earliestFinish\":").append(Json.quote(cpm.getProjectFinish()))
+                .append(",\"criticalPath\":")
+                .append(cpm.getCriticalPath().stream()
+                    .map(task -> String.valueOf(task.getId()))
+                    .collect(Collectors.joining(",", "[", "]")));
+        } else {
+            json.append(",\"earliestFinish\":null,\"criticalPath\":null");
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package GUI;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Critical path method over the task dependency graph.
+//
+// Tasks become dense indexes, dependencies become CSR adjacency arrays (see
+// DependencyGraph), and a topological order drives one forward pass (earliest
+// start/finish) and one backward pass (latest start/finish). Everything is
+// O(V + E) on primitive arrays.
+// Times are minutes from the earliest planned start; durations come from each
+// task's planned start/end, and no task starts before its planned start, as in
+// ScheduleSimulator.
+class CriticalPathAnalyzer {
+
+    // Per-task schedule values, all indexed by position in topological order
+    static class Result {
+        private final Task[] tasks;
+        private final long[] earliestStart;
+        private final long[] earliestFinish;
+        private final long[] latestStart;
+        private final long[] latestFinish;
+        private final long projectStart;
+        private final long projectFinish;
+        private final List<Task> criticalPath;
+
+        private Result(Task[] tasks, long[] earliestStart, long[] earliestFinish,
+                       long[] latestStart, long[] latestFinish,
+                       long projectStart, long projectFinish, List<Task> criticalPath) {
+            this.tasks = tasks;
+            this.earliestStart = earliestStart;
+            this.earliestFinish = earliestFinish;
+            this.latestStart = latestStart;
+            this.latestFinish = latestFinish;
+            this.projectStart = projectStart;
+            this.projectFinish = projectFinish;
+            this.criticalPath = criticalPath;
+        }
+
+        int size() { return tasks.length; }
+        Task getTask(int index) { return tasks[index]; }
+        long getEarliestStart(int index) { return earliestStart[index]; }
+        long getEarliestFinish(int index) { return earliestFinish[index]; }
+        long getLatestStart(int index) { return latestStart[index]; }
+        long getLatestFinish(int index) { return latestFinish[index]; }
+        long getTotalFloat(int index) { return latestStart[index] - earliestStart[index]; }
+        boolean isCritical(int index) { return getTotalFloat(index) == 0; }
+
+        // Offsets are minutes after the earliest planned start
+        LocalDateTime toDateTime(long offsetMinutes) {
+            return Task.fromEpochMinute(projectStart + offsetMinutes);
+        }
+
+        LocalDateTime getProjectFinish() { return toDateTime(projectFinish); }
+        List<Task> getCriticalPath() { return criticalPath; }
+    }
+
+    private CriticalPathAnalyzer() {
+    }
+
+    static Result analyze(Collection<Task> taskCollection) {
+        DependencyGraph graph = new DependencyGraph(taskCollection);
+        int n = graph.size();
+        Task[] tasks = graph.tasks();
+        int[] successorStart = graph.successorStart();
+        int[] successors = graph.successors();
+        int[] order = graph.topologicalOrder();
+
+        long projectStart = Long.MAX_VALUE;
+        long[] duration = new long[n];
+        for (int i = 0; i < n; i++) {
+            long start = tasks[i].getStartMinute();
+            duration[i] = Math.max(0, tasks[i].getDurationMinutes());
+            projectStart = Math.min(projectStart, start);
+        }
+
+        // Forward pass: a task starts at its planned start or once all of its dependencies
+        // have finished, whichever is later
+        long[] es = new long[n];
+        long[] ef = new long[n];
+        for (int i = 0; i < n; i++) {
+            es[i] = tasks[i].getStartMinute() - projectStart;
+        }
+        long projectFinish = 0;
+        for (int k = 0; k < n; k++) {
+            int node = order[k];
+            ef[node] = es[node] + duration[node];
+            projectFinish = Math.max(projectFinish, ef[node]);
+            for (int e = successorStart[node]; e < successorStart[node + 1]; e++) {
+                int next = successors[e];
+                es[next] = Math.max(es[next], ef[node]);
+            }
+        }
+
+        // Backward pass: a task must finish before any successor's latest start
+        long[] ls = new long[n];
+        long[] lf = new long[n];
+        for (int k = n - 1; k >= 0; k--) {
+            int node = order[k];
+            long latest = projectFinish;
+            for (int e = successorStart[node]; e < successorStart[node + 1]; e++) {
+                latest = Math.min(latest, ls[successors[e]]);
+            }
+            lf[node] = latest;
+            ls[node] = latest - duration[node];
+        }
+
+        // Walk back from a critical task that ends the project through critical predecessors
+        List<Task> criticalPath = new ArrayList<>();
+        int[] predecessorOnPath = new int[n];
+        int last = -1;
+        for (int k = 0; k < n; k++) {
+            int node = order[k];
+            predecessorOnPath[node] = -1;
+            if (ls[node] == es[node] && ef[node] == projectFinish && last < 0) {
+                last = node;
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            int node = order[k];
+            if (ls[node] != es[node]) continue;
+            for (int e = successorStart[node]; e < successorStart[node + 1]; e++) {
+                int next = successors[e];
+                if (predecessorOnPath[next] < 0 && ls[next] == es[next] && es[next] == ef[node]) {
+                    predecessorOnPath[next] = node;
+                }
+            }
+        }
+        for (int node = last; node >= 0; node = predecessorOnPath[node]) {
+            criticalPath.add(tasks[node]);
+        }
+        Collections.reverse(criticalPath);
+
+        Task[] ordered = new Task[n];
+        long[] orderedEs = new long[n];
+        long[] orderedEf = new long[n];
+        long[] orderedLs = new long[n];
+        long[] orderedLf = new long[n];
+        for (int k = 0; k < n; k++) {
+            int node = order[k];
+            ordered[k] = tasks[node];
+            orderedEs[k] = es[node];
+            orderedEf[k] = ef[node];
+            orderedLs[k] = ls[node];
+            orderedLf[k] = lf[node];
+        }
+
+        return new Result(ordered, orderedEs, orderedEf, orderedLs, orderedLf,
+            n == 0 ? 0 : projectStart, projectFinish, Collections.unmodifiableList(criticalPath));
+    }
+}
@@ -0,0 +1,132 @@
+package GUI;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Finds dependency cycles from the strongly connected components of the
+// dependency graph (see DependencyGraph.components). Every component with more
+// than one task, or a task that depends on itself, is a cycle group, and each
+// group gets one concrete example loop. Runs in O(V + E).
+class DependencyCycleDetector {
+
+    // One strongly connected component of the dependency graph
+    static class Cycle {
+        private final List<Integer> taskIds;
+        private final List<Integer> example;
+
+        Cycle(List<Integer> taskIds, List<Integer> example) {
+            this.taskIds = taskIds;
+            this.example = example;
+        }
+
+        // All tasks in the component, ordered by id
+        public List<Integer> getTaskIds() { return taskIds; }
+
+        // One concrete loop through the component, from a dependency to the task waiting on it;
+        // the first id is repeated at the end
+        public List<Integer> getExample() { return example; }
+
+        @Override
+        public String toString() {
+            return String.format("Tasks %s (e.g. %s)",
+                taskIds.stream().map(String::valueOf).collect(Collectors.joining(", ")),
+                example.stream().map(String::valueOf).collect(Collectors.joining(" -> ")));
+        }
+    }
+
+    private DependencyCycleDetector() {
+    }
+
+    // Cycle groups ordered by their smallest task id
+    static List<Cycle> findCycles(Collection<Task> taskCollection) {
+        DependencyGraph graph = new DependencyGraph(taskCollection);
+        int n = graph.size();
+        Task[] tasks = graph.tasks();
+        int[] successorStart = graph.successorStart();
+        int[] successors = graph.successors();
+
+        // Every component with more than one task, or a task that depends on itself, is a cycle group
+        int[] component = graph.components();
+        int[] componentSize = new int[n];
+        for (int i = 0; i < n; i++) {
+            componentSize[component[i]]++;
+        }
+        int[][] groupOf = new int[n][];
+        List<int[]> cycleGroups = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int c = component[i];
+            if (groupOf[c] == null) {
+                if (componentSize[c] == 1 && !hasSelfLoop(i, successorStart, successors)) continue;
+                groupOf[c] = new int[componentSize[c]];
+                cycleGroups.add(groupOf[c]);
+            }
+            groupOf[c][--componentSize[c]] = i;
+        }
+
+        List<Cycle> cycles = new ArrayList<>(cycleGroups.size());
+        int[] previous = new int[n];
+        int[] queue = new int[n];
+        for (int[] members : cycleGroups) {
+            List<Integer> taskIds = new ArrayList<>(members.length);
+            int start = members[0];
+            for (int member : members) {
+                taskIds.add(tasks[member].getId());
+                if (tasks[member].getId() < tasks[start].getId()) {
+                    start = member;
+                }
+            }
+            taskIds.sort(Comparator.naturalOrder());
+            List<Integer> example = exampleLoop(start, component, successorStart, successors,
+                tasks, previous, queue);
+            cycles.add(new Cycle(Collections.unmodifiableList(taskIds), Collections.unmodifiableList(example)));
+        }
+        cycles.sort(Comparator.comparingInt(cycle -> cycle.getTaskIds().get(0)));
+        return cycles;
+    }
+
+    private static boolean hasSelfLoop(int node, int[] successorStart, int[] successors) {
+        for (int e = successorStart[node]; e < successorStart[node + 1]; e++) {
+            if (successors[e] == node) return true;
+        }
+        return false;
+    }
+
+    // Breadth-first search inside the component for the shortest way back to start.
+    // previous holds the BFS parent + 1 (0 = unseen); it and queue are shared
+    // between components, which are disjoint.
+    private static List<Integer> exampleLoop(int start, int[] component, int[] successorStart,
+                                             int[] successors, Task[] tasks, int[] previous, int[] queue) {
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        int last = -1;
+        search:
+        while (head < tail) {
+            int node = queue[head++];
+            for (int e = successorStart[node]; e < successorStart[node + 1]; e++) {
+                int next = successors[e];
+                if (next == start) {
+                    last = node;
+                    break search;
+                }
+                if (component[next] == component[start] && previous[next] == 0 && next != start) {
+                    previous[next] = node + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        List<Integer> loop = new ArrayList<>();
+        loop.add(tasks[start].getId());
+        for (int node = last; node != start; node = previous[node] - 1) {
+            loop.add(tasks[node].getId());
+        }
+        loop.add(tasks[start].getId());
+        Collections.reverse(loop);
+        return loop;
+    }
+}
@@ -0,0 +1,174 @@
+package GUI;
+
+import java.util.Collection;
+
+// Task dependencies as dense int indexes in CSR (compressed sparse row) form.
+//
+// Tasks are numbered in iteration order and each dependency becomes an edge
+// from the dependency to the task that waits for it. Dependency ids that do
+// not resolve to a task are ignored, as ProjectSnapshot.getDependencyTasks
+// ignores them.
+// Built once per analysis in O(V + E); shared by the graph algorithms.
+class DependencyGraph {
+    private final Task[] tasks;
+    private final IntIndexMap indexOf;
+    private final int[] successorStart;
+    private final int[] successors;
+    private final int[] inDegree;
+
+    DependencyGraph(Collection<Task> taskCollection) {
+        tasks = taskCollection.toArray(new Task[0]);
+        int n = tasks.length;
+
+        indexOf = new IntIndexMap(n);
+        for (int i = 0; i < n; i++) {
+            indexOf.put(tasks[i].getId(), i);
+        }
+
+        // Dependencies resolved to indexes once, kept in CSR form until successors are built
+        int[] predecessorStart = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            predecessorStart[i + 1] = predecessorStart[i] + tasks[i].getDependencyCount();
+        }
+        int[] predecessors = new int[predecessorStart[n]];
+        inDegree = new int[n];
+        successorStart = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            Task task = tasks[i];
+            int base = predecessorStart[i];
+            for (int d = 0; d < task.getDependencyCount(); d++) {
+                int dep = indexOf.get(task.getDependencyId(d));
+                predecessors[base + d] = dep;
+                if (dep >= 0) {
+                    successorStart[dep + 1]++;
+                    inDegree[i]++;
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            successorStart[i + 1] += successorStart[i];
+        }
+        successors = new int[successorStart[n]];
+        int[] fill = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int p = predecessorStart[i]; p < predecessorStart[i + 1]; p++) {
+                int dep = predecessors[p];
+                if (dep >= 0) {
+                    successors[successorStart[dep] + fill[dep]++] = i;
+                }
+            }
+        }
+    }
+
+    int size() { return tasks.length; }
+
+    // The arrays below are shared, not copied; callers must not modify them
+    Task[] tasks() { return tasks; }
+
+    // Task id -> node
+    IntIndexMap indexOf() { return indexOf; }
+
+    // Successors of node i are successors()[successorStart()[i] .. successorStart()[i + 1])
+    int[] successorStart() { return successorStart; }
+    int[] successors() { return successors; }
+
+    // Number of resolved dependencies per node, counting duplicates; a fresh copy
+    int[] inDegrees() { return inDegree.clone(); }
+
+    // Nodes with every dependency before its dependents, by Kahn's algorithm;
+    // throws IllegalStateException when a dependency cycle leaves nodes unordered
+    int[] topologicalOrder() {
+        int n = tasks.length;
+        int[] remaining = inDegrees();
+        // The order array doubles as the work queue
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (remaining[i] == 0) order[tail++] = i;
+        }
+        while (head < tail) {
+            int node = order[head++];
+            for (int e = successorStart[node]; e < successorStart[node + 1]; e++) {
+                if (--remaining[successors[e]] == 0) {
+                    order[tail++] = successors[e];
+                }
+            }
+        }
+        if (tail != n) {
+            throw new IllegalStateException(
+                "Dependency cycle detected: " + (n - tail) + " tasks cannot be scheduled");
+        }
+        return order;
+    }
+
+    // Strongly connected component id per node, by Tarjan's search.
+    //
+    // The depth-first search keeps its own explicit stack of (node, next edge)
+    // frames instead of recursing, so a chain of millions of tasks cannot
+    // overflow the thread stack. Ids are handed out as components finish, so a
+    // dependency's component id is never lower than its dependent's: counting
+    // ids down visits the components in topological order. O(V + E).
+    int[] components() {
+        int n = tasks.length;
+        int[] index = new int[n];        // discovery order + 1, 0 = unvisited
+        int[] lowLink = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];        // Tarjan's component stack
+        int stackSize = 0;
+        int[] frameNode = new int[n];    // explicit DFS call stack
+        int[] frameEdge = new int[n];
+        int nextIndex = 1;
+
+        int[] component = new int[n];
+        int componentCount = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != 0) continue;
+
+            int depth = 0;
+            frameNode[0] = root;
+            frameEdge[0] = successorStart[root];
+            index[root] = lowLink[root] = nextIndex++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int node = frameNode[depth];
+                if (frameEdge[depth] < successorStart[node + 1]) {
+                    int next = successors[frameEdge[depth]++];
+                    if (index[next] == 0) {
+                        // Descend
+                        depth++;
+                        frameNode[depth] = next;
+                        frameEdge[depth] = successorStart[next];
+                        index[next] = lowLink[next] = nextIndex++;
+                        stack[stackSize++] = next;
+                        onStack[next] = true;
+                    } else if (onStack[next]) {
+                        lowLink[node] = Math.min(lowLink[node], index[next]);
+                    }
+                    continue;
+                }
+
+                // All edges done: pop the frame and number a finished component
+                if (lowLink[node] == index[node]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        component[member] = componentCount;
+                    } while (member != node);
+                    componentCount++;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = frameNode[depth];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+            }
+        }
+        return component;
+    }
+}
@@ -1,11 +1,13 @@
 package GUI;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
-import java.util.*;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 public class GanttChartDialog extends JDialog {
     private Project project;
@@ -25,120 +27,141 @@ public class GanttChartDialog extends JDialog {
         chartPanel = new GanttChartPanel(project);
         add(new JScrollPane(chartPanel), BorderLayout.CENTER);
         
+        JButton exportButton = new JButton("Export...");
+        exportButton.addActionListener(e -> exportChart(exportButton));
         JButton closeButton = new JButton("Close");
         closeButton.addActionListener(e -> dispose());
         
         JPanel buttonPanel = new JPanel();
+        buttonPanel.add(exportButton);
         buttonPanel.add(closeButton);
         add(buttonPanel, BorderLayout.SOUTH);
     }
+
+    // Writes the whole chart as PNG or SVG, by file extension, off the event thread
+    private void exportChart(JButton exportButton) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("PNG or SVG image", "png", "svg"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path chosen = chooser.getSelectedFile().toPath();
+        String name = chosen.getFileName().toString().toLowerCase();
+        Path target = name.endsWith(".png") || name.endsWith(".svg")
+            ? chosen : chosen.resolveSibling(chosen.getFileName() + ".png");
+        ProjectSnapshot snapshot = project.snapshot();
+
+        exportButton.setEnabled(false);
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                GanttExporter.export(snapshot, GanttExporter.DEFAULT_WIDTH, target);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                exportButton.setEnabled(true);
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(GanttChartDialog.this, "Chart exported to " + target);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(GanttChartDialog.this,
+                        "Export failed: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
 }
 
 class GanttChartPanel extends JPanel {
     private Project project;
-    private static final int ROW_HEIGHT = 40;
-    private static final int MARGIN = 50;
-    private static final int TASK_LABEL_WIDTH = 200;
+    private static final int TILE_SIZE = 256;
+    private static final int MAX_CACHED_TILES = 64;
+
+    // Rebuilt on the event thread when the project publishes a new version
+    private GanttChartRenderer renderer;
+    private final Project.ChangeListener changeListener = snapshot -> SwingUtilities.invokeLater(this::updateRows);
+
+    // Rendered tiles keyed by tile column/row, least recently used evicted first.
+    // Tiles depend on the row model, the panel width and the device scale.
+    private final Map<Long, BufferedImage> tiles = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_CACHED_TILES;
+        }
+    };
+    private int tilesWidth = -1;
+    private double tilesScale = -1;
 
     public GanttChartPanel(Project project) {
         this.project = project;
-        setPreferredSize(new Dimension(1200, calculateHeight()));
+        updateRows();
     }
 
-    private int calculateHeight() {
-        return MARGIN * 2 + project.getTasks().size() * ROW_HEIGHT;
+    // Listens only while shown, so a closed dialog is not kept alive by the project
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        project.addChangeListener(changeListener);
+        updateRows();
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        drawGanttChart(g2d);
+    public void removeNotify() {
+        project.removeChangeListener(changeListener);
+        super.removeNotify();
     }
 
-    private void drawGanttChart(Graphics2D g2d) {
-        List<Task> tasks = new ArrayList<>(project.getTasks().values());
-        if (tasks.isEmpty()) {
-            g2d.drawString("No tasks to display", MARGIN, MARGIN);
-            return;
-        }
+    private void updateRows() {
+        ProjectSnapshot snapshot = project.snapshot();
+        if (renderer != null && renderer.getVersion() == snapshot.getVersion()) return;
 
-        // Sort tasks by start time
-        tasks.sort(Comparator.comparing(Task::getStartTime));
-
-        // Find project time range
-        LocalDateTime projectStart = tasks.stream()
-                .map(Task::getStartTime)
-                .min(LocalDateTime::compareTo)
-                .orElse(LocalDateTime.now());
-        LocalDateTime projectEnd = tasks.stream()
-                .map(Task::getEndTime)
-                .max(LocalDateTime::compareTo)
-                .orElse(LocalDateTime.now());
-
-        long totalDays = ChronoUnit.DAYS.between(projectStart, projectEnd) + 1;
-        int chartWidth = getWidth() - MARGIN - TASK_LABEL_WIDTH;
-
-        // Draw title and timeline
-        drawTimeline(g2d, projectStart, totalDays, chartWidth);
-
-        // Draw tasks
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
-            int y = MARGIN + i * ROW_HEIGHT;
-
-            // Draw task label
-            g2d.setColor(Color.BLACK);
-            g2d.drawString(task.getId() + ": " + task.getTitle(), 
-                          MARGIN, y + ROW_HEIGHT / 2 + 5);
-
-            // Draw task bar
-            drawTaskBar(g2d, task, projectStart, totalDays, chartWidth, y);
-        }
+        renderer = new GanttChartRenderer(snapshot, getFont());
+        tiles.clear();
+        setPreferredSize(new Dimension(1200, renderer.getHeight()));
+        revalidate();
+        repaint();
     }
 
-    private void drawTimeline(Graphics2D g2d, LocalDateTime start, long totalDays, int chartWidth) {
-        g2d.setColor(Color.BLACK);
-        g2d.drawString("Gantt Chart - " + start.getYear(), MARGIN, 20);
-
-        // Draw timeline header
-        int timelineY = MARGIN - 20;
-        g2d.drawLine(TASK_LABEL_WIDTH, timelineY, TASK_LABEL_WIDTH + chartWidth, timelineY);
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
 
-        // Draw day markers
-        for (int day = 0; day <= totalDays; day += Math.max(1, totalDays / 20)) {
-            int x = TASK_LABEL_WIDTH + (int) (day * (chartWidth / (double) totalDays));
-            g2d.drawLine(x, timelineY - 5, x, timelineY + 5);
-            g2d.drawString("Day " + day, x - 10, timelineY - 10);
+        double scale = g2d.getTransform().getScaleX();
+        if (tilesWidth != getWidth() || tilesScale != scale) {
+            tiles.clear();
+            tilesWidth = getWidth();
+            tilesScale = scale;
         }
-    }
 
-    private void drawTaskBar(Graphics2D g2d, Task task, LocalDateTime projectStart, 
-                           long totalDays, int chartWidth, int y) {
-        long startOffset = ChronoUnit.DAYS.between(projectStart, task.getStartTime());
-        long taskDuration = ChronoUnit.DAYS.between(task.getStartTime(), task.getEndTime()) + 1;
-
-        int startX = TASK_LABEL_WIDTH + (int) (startOffset * (chartWidth / (double) totalDays));
-        int taskWidth = Math.max(5, (int) (taskDuration * (chartWidth / (double) totalDays)));
-
-        // Choose color based on task dependencies
-        Color taskColor = task.getDependencyIds().isEmpty() ? 
-            new Color(70, 130, 180) : // Steel blue for independent tasks
-            new Color(34, 139, 34);   // Forest green for dependent tasks
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
 
-        g2d.setColor(taskColor);
-        g2d.fillRect(startX, y, taskWidth, ROW_HEIGHT - 10);
-        
-        g2d.setColor(Color.BLACK);
-        g2d.drawRect(startX, y, taskWidth, ROW_HEIGHT - 10);
-
-        // Draw task info on bar
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("SansSerif", Font.BOLD, 10));
-        if (taskWidth > 50) {
-            g2d.drawString("T" + task.getId(), startX + 5, y + ROW_HEIGHT / 2);
+        // Only tiles that intersect the clip rectangle are painted; items counts the tiles rendered
+        try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.GANTT_PAINT, false)) {
+            int rendered = 0;
+            int firstColumn = Math.max(0, clip.x / TILE_SIZE);
+            int lastColumn = (clip.x + clip.width - 1) / TILE_SIZE;
+            int firstRow = Math.max(0, clip.y / TILE_SIZE);
+            int lastRow = (clip.y + clip.height - 1) / TILE_SIZE;
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    long key = ((long) row << 32) | column;
+                    BufferedImage tile = tiles.get(key);
+                    if (tile == null) {
+                        tile = renderer.renderTile(column * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE,
+                            scale, getWidth(), getBackground());
+                        tiles.put(key, tile);
+                        rendered++;
+                    }
+                    g2d.drawImage(tile, column * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE, null);
+                }
+            }
+            span.setItems(rendered);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,200 @@
+package GUI;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Comparator;
+
+// Gantt chart layout and drawing for one project snapshot, without any Swing
+// component, so the on-screen panel and the headless exporter draw the same chart.
+//
+// Rows are the snapshot's tasks sorted by start time. Drawing goes through a
+// small Canvas so the same code paints into a Graphics2D or streams SVG, and
+// every draw call is limited to the rows that intersect the requested area.
+class GanttChartRenderer {
+    static final int ROW_HEIGHT = 40;
+    static final int MARGIN = 50;
+    static final int TASK_LABEL_WIDTH = 200;
+
+    private static final Font BAR_FONT = new Font("SansSerif", Font.BOLD, 10);
+    private static final Color INDEPENDENT_COLOR = new Color(70, 130, 180); // Steel blue
+    private static final Color DEPENDENT_COLOR = new Color(34, 139, 34);    // Forest green
+
+    // The drawing operations the chart needs
+    interface Canvas {
+        void setColor(Color color);
+        void fillRect(int x, int y, int width, int height);
+        void drawRect(int x, int y, int width, int height);
+        void drawLine(int x1, int y1, int x2, int y2);
+        void drawString(String text, int x, int y, Font font);
+    }
+
+    // Row model: tasks sorted by start time, with their times in epoch minutes
+    private final int version;
+    private final Font labelFont;
+    private final Task[] rows;
+    private final long[] rowStart;
+    private final long[] rowEnd;
+    private final long projectStart;
+    private final long totalDays;
+
+    GanttChartRenderer(ProjectSnapshot snapshot, Font labelFont) {
+        this.version = snapshot.getVersion();
+        this.labelFont = labelFont;
+        rows = snapshot.tasks().toArray(new Task[0]);
+        Arrays.sort(rows, Comparator.comparingLong(Task::getStartMinute).thenComparingInt(Task::getId));
+        rowStart = new long[rows.length];
+        rowEnd = new long[rows.length];
+        long minStart = Long.MAX_VALUE;
+        long maxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < rows.length; i++) {
+            rowStart[i] = rows[i].getStartMinute();
+            rowEnd[i] = rows[i].getEndMinute();
+            minStart = Math.min(minStart, rowStart[i]);
+            maxEnd = Math.max(maxEnd, rowEnd[i]);
+        }
+        projectStart = minStart;
+        totalDays = rows.length == 0 ? 1 : (maxEnd - minStart) / (24 * 60) + 1;
+    }
+
+    // Version of the snapshot the rows came from
+    int getVersion() { return version; }
+
+    int getRowCount() { return rows.length; }
+
+    // Height of the whole chart in pixels
+    int getHeight() {
+        return MARGIN * 2 + rows.length * ROW_HEIGHT;
+    }
+
+    // Renders the width x height area at (x, y) of a chart that is chartWidth pixels wide,
+    // at the given device scale
+    BufferedImage renderTile(int x, int y, int width, int height, double scale, int chartWidth,
+                             Color background) {
+        BufferedImage tile = new BufferedImage((int) Math.ceil(width * scale), (int) Math.ceil(height * scale),
+            BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = tile.createGraphics();
+        try {
+            g2d.setColor(background);
+            g2d.fillRect(0, 0, tile.getWidth(), tile.getHeight());
+            g2d.scale(scale, scale);
+            g2d.translate(-x, -y);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            Rectangle area = new Rectangle(x, y, width, height);
+            g2d.clip(area);
+            draw(new GraphicsCanvas(g2d), chartWidth, area);
+        } finally {
+            g2d.dispose();
+        }
+        return tile;
+    }
+
+    // Draws the parts of a chartWidth pixels wide chart that fall inside the given area
+    void draw(Canvas canvas, int chartWidth, Rectangle area) {
+        if (rows.length == 0) {
+            canvas.setColor(Color.BLACK);
+            canvas.drawString("No tasks to display", MARGIN, MARGIN, labelFont);
+            return;
+        }
+
+        int barsWidth = chartWidth - MARGIN - TASK_LABEL_WIDTH;
+
+        // Draw title and timeline
+        if (area.y < MARGIN) {
+            drawTimeline(canvas, barsWidth);
+        }
+
+        // Draw the rows that intersect the area
+        int first = Math.max(0, (area.y - MARGIN) / ROW_HEIGHT);
+        int last = Math.min(rows.length - 1, (area.y + area.height - MARGIN) / ROW_HEIGHT);
+        for (int i = first; i <= last; i++) {
+            Task task = rows[i];
+            int y = MARGIN + i * ROW_HEIGHT;
+
+            // Draw task label
+            canvas.setColor(Color.BLACK);
+            canvas.drawString(task.getId() + ": " + task.getTitle(),
+                MARGIN, y + ROW_HEIGHT / 2 + 5, labelFont);
+
+            // Draw task bar
+            drawTaskBar(canvas, i, barsWidth, y, area);
+        }
+    }
+
+    private void drawTimeline(Canvas canvas, int barsWidth) {
+        canvas.setColor(Color.BLACK);
+        canvas.drawString("Gantt Chart - " + Task.fromEpochMinute(projectStart).getYear(), MARGIN, 20, labelFont);
+
+        // Draw timeline header
+        int timelineY = MARGIN - 20;
+        canvas.drawLine(TASK_LABEL_WIDTH, timelineY, TASK_LABEL_WIDTH + barsWidth, timelineY);
+
+        // Draw day markers
+        for (long day = 0; day <= totalDays; day += Math.max(1, totalDays / 20)) {
+            int x = TASK_LABEL_WIDTH + (int) (day * (barsWidth / (double) totalDays));
+            canvas.drawLine(x, timelineY - 5, x, timelineY + 5);
+            canvas.drawString("Day " + day, x - 10, timelineY - 10, labelFont);
+        }
+    }
+
+    private void drawTaskBar(Canvas canvas, int row, int barsWidth, int y, Rectangle area) {
+        long startOffset = (rowStart[row] - projectStart) / (24 * 60);
+        long taskDuration = (rowEnd[row] - rowStart[row]) / (24 * 60) + 1;
+
+        int startX = TASK_LABEL_WIDTH + (int) (startOffset * (barsWidth / (double) totalDays));
+        int taskWidth = Math.max(5, (int) (taskDuration * (barsWidth / (double) totalDays)));
+
+        // Skip bars that lie outside the area being painted (the outline adds one pixel)
+        if (startX > area.x + area.width || startX + taskWidth + 1 < area.x) {
+            return;
+        }
+
+        Task task = rows[row];
+        // Choose color based on task dependencies
+        canvas.setColor(task.getDependencyCount() == 0 ? INDEPENDENT_COLOR : DEPENDENT_COLOR);
+        canvas.fillRect(startX, y, taskWidth, ROW_HEIGHT - 10);
+
+        canvas.setColor(Color.BLACK);
+        canvas.drawRect(startX, y, taskWidth, ROW_HEIGHT - 10);
+
+        // Draw task info on bar
+        if (taskWidth > 50) {
+            canvas.setColor(Color.WHITE);
+            canvas.drawString("T" + task.getId(), startX + 5, y + ROW_HEIGHT / 2, BAR_FONT);
+        }
+    }
+
+    // Canvas backed by a Graphics2D
+    static final class GraphicsCanvas implements Canvas {
+        private final Graphics2D g2d;
+
+        GraphicsCanvas(Graphics2D g2d) {
+            this.g2d = g2d;
+        }
+
+        @Override
+        public void setColor(Color color) { g2d.setColor(color); }
+
+        @Override
+        public void fillRect(int x, int y, int width, int height) { g2d.fillRect(x, y, width, height); }
+
+        @Override
+        public void drawRect(int x, int y, int width, int height) { g2d.drawRect(x, y, width, height); }
+
+        @Override
+        public void drawLine(int x1, int y1, int x2, int y2) { g2d.drawLine(x1, y1, x2, y2); }
+
+        @Override
+        public void drawString(String text, int x, int y, Font font) {
+            if (g2d.getFont() != font) {
+                g2d.setFont(font);
+            }
+            g2d.drawString(text, x, y);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package GUI;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+// Headless Gantt chart export to PNG or SVG for plans of any size.
+//
+//   ProjectPlanner --gantt [--width N] TASKS_FILE OUT_FILE.(png|svg)
+//
+// PNG: the chart is cut into bands of TILE_SIZE pixel rows, each band into
+// TILE_SIZE wide tiles, and the tiles are rendered by GanttChartRenderer on a
+// worker pool. Bands are written to the PNG's compressed stream in order as
+// they complete, with only a few bands in flight, so memory depends on the
+// chart width and not on the number of rows.
+//
+// SVG: the renderer draws the whole chart once into a canvas that writes each
+// element straight to the file.
+class GanttExporter {
+    private static final String USAGE =
+        "Usage: ProjectPlanner --gantt [--width N] TASKS_FILE OUT_FILE.(png|svg)";
+
+    static final int DEFAULT_WIDTH = 1200;
+    private static final int TILE_SIZE = 256;
+    private static final Font LABEL_FONT = new Font("Dialog", Font.PLAIN, 12);
+
+    private GanttExporter() {
+    }
+
+    // Returns the process exit code: 0 on success, 1 if the export failed, 2 on bad usage
+    static int run(String[] args) {
+        int width = DEFAULT_WIDTH;
+        List<String> files = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--width")) {
+                    width = Integer.parseInt(args[++i]);
+                } else if (args[i].startsWith("--")) {
+                    throw new IllegalArgumentException(args[i]);
+                } else {
+                    files.add(args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        if (files.size() != 2 || width <= GanttChartRenderer.MARGIN + GanttChartRenderer.TASK_LABEL_WIDTH) {
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        try {
+            Project project = new Project();
+            project.setLoadMode(Project.LoadMode.PARALLEL_MAPPED);
+            project.loadTasks(files.get(0));
+            Path out = Paths.get(files.get(1));
+            export(project.snapshot(), width, out);
+            System.out.println("Wrote " + out);
+            return 0;
+        } catch (FileParseException | IOException | IllegalArgumentException e) {
+            System.err.println("Gantt export failed: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Gantt export interrupted");
+            return 1;
+        }
+    }
+
+    // Picks the format from the file extension
+    static void export(ProjectSnapshot snapshot, int width, Path out) throws IOException, InterruptedException {
+        String name = out.getFileName().toString().toLowerCase();
+        GanttChartRenderer renderer = new GanttChartRenderer(snapshot, LABEL_FONT);
+        if (name.endsWith(".png")) {
+            exportPng(renderer, width, out, Runtime.getRuntime().availableProcessors());
+        } else if (name.endsWith(".svg")) {
+            exportSvg(renderer, width, out);
+        } else {
+            throw new IllegalArgumentException("Unsupported export format: " + out.getFileName());
+        }
+    }
+
+    static void exportPng(GanttChartRenderer renderer, int width, Path out, int threads)
+            throws IOException, InterruptedException {
+        int height = renderer.getHeight();
+        int columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+        int bands = (height + TILE_SIZE - 1) / TILE_SIZE;
+        // Enough bands ahead to keep every worker busy while one band is being compressed
+        int bandsInFlight = threads + 1;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "gantt-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (PngWriter png = new PngWriter(Files.newOutputStream(out), width, height)) {
+            Deque<List<Future<BufferedImage>>> pending = new ArrayDeque<>();
+            int nextBand = 0;
+            byte[] scanline = new byte[width * 3];
+            for (int band = 0; band < bands; band++) {
+                while (nextBand < bands && nextBand < band + bandsInFlight) {
+                    pending.add(submitBand(pool, renderer, nextBand++, columns, width, height));
+                }
+                List<BufferedImage> tiles = new ArrayList<>(columns);
+                for (Future<BufferedImage> tile : pending.poll()) {
+                    tiles.add(tile.get());
+                }
+
+                int bandHeight = Math.min(TILE_SIZE, height - band * TILE_SIZE);
+                for (int y = 0; y < bandHeight; y++) {
+                    int offset = 0;
+                    for (BufferedImage tile : tiles) {
+                        int[] pixels = ((DataBufferInt) tile.getRaster().getDataBuffer()).getData();
+                        int tileWidth = tile.getWidth();
+                        for (int x = y * tileWidth, end = x + tileWidth; x < end; x++) {
+                            int rgb = pixels[x];
+                            scanline[offset++] = (byte) (rgb >> 16);
+                            scanline[offset++] = (byte) (rgb >> 8);
+                            scanline[offset++] = (byte) rgb;
+                        }
+                    }
+                    png.writeRow(scanline);
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("Rendering failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Tiles of one band, left to right; the last column and band are cut to the chart size
+    private static List<Future<BufferedImage>> submitBand(ExecutorService pool, GanttChartRenderer renderer,
+                                                          int band, int columns, int width, int height) {
+        List<Future<BufferedImage>> tiles = new ArrayList<>(columns);
+        int y = band * TILE_SIZE;
+        int tileHeight = Math.min(TILE_SIZE, height - y);
+        for (int column = 0; column < columns; column++) {
+            int x = column * TILE_SIZE;
+            int tileWidth = Math.min(TILE_SIZE, width - x);
+            tiles.add(pool.submit(() -> renderer.renderTile(x, y, tileWidth, tileHeight, 1, width, Color.WHITE)));
+        }
+        return tiles;
+    }
+
+    static void exportSvg(GanttChartRenderer renderer, int width, Path out) throws IOException {
+        int height = renderer.getHeight();
+        try (Writer writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            writer.write(String.format("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\""
+                + " viewBox=\"0 0 %d %d\">%n", width, height, width, height));
+            writer.write(String.format("<rect width=\"%d\" height=\"%d\" fill=\"#ffffff\"/>%n", width, height));
+            try {
+                renderer.draw(new SvgCanvas(writer), width, new Rectangle(0, 0, width, height));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.write("</svg>\n");
+        }
+    }
+
+    // Writes each drawing call as one SVG element
+    private static final class SvgCanvas implements GanttChartRenderer.Canvas {
+        private final Writer writer;
+        private String color = "#000000";
+
+        SvgCanvas(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void setColor(Color color) {
+            this.color = String.format("#%06x", color.getRGB() & 0xffffff);
+        }
+
+        @Override
+        public void fillRect(int x, int y, int width, int height) {
+            write("<rect x=\"" + x + "\" y=\"" + y + "\" width=\"" + width + "\" height=\"" + height
+                + "\" fill=\"" + color + "\"/>\n");
+        }
+
+        // Like Graphics.drawRect: the outline covers width + 1 by height + 1 pixels
+        @Override
+        public void drawRect(int x, int y, int width, int height) {
+            write("<rect x=\"" + (x + 0.5) + "\" y=\"" + (y + 0.5) + "\" width=\"" + width + "\" height=\"" + height
+                + "\" fill=\"none\" stroke=\"" + color + "\"/>\n");
+        }
+
+        @Override
+        public void drawLine(int x1, int y1, int x2, int y2) {
+            write("<line x1=\"" + (x1 + 0.5) + "\" y1=\"" + (y1 + 0.5) + "\" x2=\"" + (x2 + 0.5) + "\" y2=\""
+                + (y2 + 0.5) + "\" stroke=\"" + color + "\"/>\n");
+        }
+
+        @Override
+        public void drawString(String text, int x, int y, Font font) {
+            write("<text x=\"" + x + "\" y=\"" + y + "\" font-family=\"" + escape(font.getFamily())
+                + "\" font-size=\"" + font.getSize() + "\"" + (font.isBold() ? " font-weight=\"bold\"" : "")
+                + " fill=\"" + color + "\">" + escape(text) + "</text>\n");
+        }
+
+        private void write(String element) {
+            try {
+                writer.write(element);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static String escape(String text) {
+            StringBuilder escaped = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '<': escaped.append("&lt;"); break;
+                    case '>': escaped.append("&gt;"); break;
+                    case '&': escaped.append("&amp;"); break;
+                    case '"': escaped.append("&quot;"); break;
+                    default:
+                        // Control characters are not allowed in XML 1.0
+                        escaped.append(c < 0x20 && c != '\t' ? ' ' : c);
+                }
+            }
+            return escaped.toString();
+        }
+    }
+
+    // Minimal streaming PNG encoder: 8-bit RGB, no interlacing, rows written top to bottom.
+    // Compressed data goes out in IDAT chunks as it is produced.
+    private static final class PngWriter implements AutoCloseable {
+        private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+        private static final int CHUNK_SIZE = 1 << 16;
+
+        private final DataOutputStream file;
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final DeflaterOutputStream image;
+        private final int rowBytes;
+        private final byte[] previous;
+        private final byte[] filtered;
+
+        PngWriter(OutputStream out, int width, int height) throws IOException {
+            file = new DataOutputStream(new BufferedOutputStream(out, CHUNK_SIZE + 12));
+            file.write(SIGNATURE);
+            ByteBuffer header = ByteBuffer.allocate(13)
+                .putInt(width)
+                .putInt(height)
+                .put((byte) 8)    // bit depth
+                .put((byte) 2)    // color type: RGB
+                .put((byte) 0)    // compression
+                .put((byte) 0)    // filter method
+                .put((byte) 0);   // no interlacing
+            writeChunk("IHDR", header.array(), header.position());
+
+            rowBytes = width * 3;
+            previous = new byte[rowBytes];
+            filtered = new byte[rowBytes + 1];
+            image = new DeflaterOutputStream(new IdatStream(), deflater, CHUNK_SIZE);
+        }
+
+        // One row of RGB bytes. The "up" filter turns the long runs of identical rows
+        // in a Gantt chart into zeros, which compress to almost nothing.
+        void writeRow(byte[] row) throws IOException {
+            filtered[0] = 2;
+            for (int i = 0; i < rowBytes; i++) {
+                filtered[i + 1] = (byte) (row[i] - previous[i]);
+            }
+            System.arraycopy(row, 0, previous, 0, rowBytes);
+            image.write(filtered, 0, rowBytes + 1);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                image.close();
+                writeChunk("IEND", new byte[0], 0);
+                file.close();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        private void writeChunk(String type, byte[] data, int length) throws IOException {
+            byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+            CRC32 crc = new CRC32();
+            crc.update(typeBytes);
+            crc.update(data, 0, length);
+            file.writeInt(length);
+            file.write(typeBytes);
+            file.write(data, 0, length);
+            file.writeInt((int) crc.getValue());
+        }
+
+        // Collects deflated bytes and emits them as IDAT chunks
+        private final class IdatStream extends OutputStream {
+            private final byte[] buffer = new byte[CHUNK_SIZE];
+            private int size;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (size == buffer.length) flush();
+                buffer[size++] = (byte) b;
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                while (length > 0) {
+                    if (size == buffer.length) flush();
+                    int n = Math.min(length, buffer.length - size);
+                    System.arraycopy(bytes, offset, buffer, size, n);
+                    size += n;
+                    offset += n;
+                    length -= n;
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (size > 0) {
+                    writeChunk("IDAT", buffer, size);
+                    size = 0;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        }
+    }
+}
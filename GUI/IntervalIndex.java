@@ -0,0 +1,123 @@
+package GUI;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+// Static interval index over task [start, end) times, in epoch minutes.
+//
+// Tasks are sorted by start time and the sorted array is treated as an implicit
+// balanced search tree (the middle of every range is its root). Each root keeps
+// the largest end time of its range, so window queries skip every subtree that
+// ends before the window opens. Overlap is strict, like Task.overlapsWith.
+class IntervalIndex {
+    private final Task[] tasks;
+    private final long[] start;
+    private final long[] end;
+    private final long[] maxEnd;
+
+    IntervalIndex(Collection<Task> taskCollection) {
+        tasks = taskCollection.toArray(new Task[0]);
+        Arrays.sort(tasks, Comparator.comparingLong(Task::getStartMinute).thenComparingInt(Task::getId));
+
+        start = new long[tasks.length];
+        end = new long[tasks.length];
+        maxEnd = new long[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            start[i] = tasks[i].getStartMinute();
+            end[i] = tasks[i].getEndMinute();
+        }
+        buildMaxEnd(0, tasks.length);
+    }
+
+    int size() {
+        return tasks.length;
+    }
+
+    // Tasks with start < to and end > from, ordered by start time
+    List<Task> findOverlapping(long from, long to) {
+        List<Task> result = new ArrayList<>();
+        collect(0, tasks.length, from, to, result);
+        return result;
+    }
+
+    // Reports every overlapping pair once, earlier start first, with a sweep over the start order.
+    // Active tasks sit in a min-heap on end time; O(n log n + pairs).
+    void forEachOverlappingPair(BiConsumer<Task, Task> consumer) {
+        int[] heap = new int[Math.max(1, tasks.length)];
+        int heapSize = 0;
+
+        for (int i = 0; i < tasks.length; i++) {
+            // Everything that ended at or before this start can no longer overlap anything
+            while (heapSize > 0 && end[heap[0]] <= start[i]) {
+                heapSize = pop(heap, heapSize);
+            }
+
+            for (int h = 0; h < heapSize; h++) {
+                int j = heap[h];
+                if (start[j] < end[i]) {
+                    consumer.accept(tasks[j], tasks[i]);
+                }
+            }
+            heapSize = push(heap, heapSize, i);
+        }
+    }
+
+    private long buildMaxEnd(int lo, int hi) {
+        if (lo >= hi) return Long.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(end[mid], Math.max(buildMaxEnd(lo, mid), buildMaxEnd(mid + 1, hi)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    private void collect(int lo, int hi, long from, long to, List<Task> result) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] <= from) return;
+
+        collect(lo, mid, from, to, result);
+        // Ranges to the right only start later
+        if (start[mid] >= to) return;
+        if (end[mid] > from) {
+            result.add(tasks[mid]);
+        }
+        collect(mid + 1, hi, from, to, result);
+    }
+
+    private int push(int[] heap, int size, int index) {
+        int child = size;
+        heap[child] = index;
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (end[heap[parent]] <= end[heap[child]]) break;
+            swap(heap, parent, child);
+            child = parent;
+        }
+        return size + 1;
+    }
+
+    private int pop(int[] heap, int size) {
+        size--;
+        heap[0] = heap[size];
+        int parent = 0;
+        while (true) {
+            int left = parent * 2 + 1;
+            if (left >= size) break;
+            int smallest = left + 1 < size && end[heap[left + 1]] < end[heap[left]] ? left + 1 : left;
+            if (end[heap[parent]] <= end[heap[smallest]]) break;
+            swap(heap, parent, smallest);
+            parent = smallest;
+        }
+        return size;
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+}
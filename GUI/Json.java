@@ -0,0 +1,42 @@
+package GUI;
+
+// Minimal JSON text helpers for the line-oriented outputs (batch results, reports)
+final class Json {
+    private Json() {
+    }
+
+    // The value as a quoted JSON string, or null
+    static String quote(Object value) {
+        if (value == null) return "null";
+        return quote(value, new StringBuilder()).toString();
+    }
+
+    // Appends the value as a quoted JSON string, or null
+    static StringBuilder quote(Object value, StringBuilder out) {
+        if (value == null) return out.append("null");
+        String text = value.toString();
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"');
+    }
+
+    // Finite numbers as-is, NaN and infinities as null
+    static String number(double value) {
+        return Double.isFinite(value) ? String.valueOf(value) : "null";
+    }
+}
@@ -0,0 +1,131 @@
+package GUI;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Finds the time intervals in which a resource is booked above 100%.
+//
+// The allocations of each resource are turned into start/end events and swept
+// in time order while the summed loadPercentage is tracked; resources are
+// independent, so they are processed in parallel.
+class OverAllocationDetector {
+    static final int CAPACITY_PERCENTAGE = 100;
+
+    // One interval with a constant set of overlapping allocations above capacity
+    static class OverAllocation {
+        private final String resourceName;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final int totalLoad;
+        private final List<Integer> taskIds;
+
+        OverAllocation(String resourceName, LocalDateTime from, LocalDateTime to,
+                       int totalLoad, List<Integer> taskIds) {
+            this.resourceName = resourceName;
+            this.from = from;
+            this.to = to;
+            this.totalLoad = totalLoad;
+            this.taskIds = taskIds;
+        }
+
+        public String getResourceName() { return resourceName; }
+        public LocalDateTime getFrom() { return from; }
+        public LocalDateTime getTo() { return to; }
+        public int getTotalLoad() { return totalLoad; }
+        public List<Integer> getTaskIds() { return taskIds; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %s to %s at %d%% (tasks %s)",
+                resourceName, from, to, totalLoad,
+                taskIds.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+        }
+    }
+
+    private OverAllocationDetector() {
+    }
+
+    // Results are ordered by resource name, then time
+    static List<OverAllocation> detect(Collection<Allocation> allocations) {
+        Map<String, List<Allocation>> byResource = new HashMap<>();
+        for (Allocation allocation : allocations) {
+            byResource.computeIfAbsent(allocation.getResource().getName(), name -> new ArrayList<>())
+                .add(allocation);
+        }
+
+        return byResource.entrySet().parallelStream()
+            .sorted(Map.Entry.comparingByKey())
+            .flatMap(entry -> sweep(entry.getKey(), entry.getValue()).stream())
+            .collect(Collectors.toList());
+    }
+
+    private static List<OverAllocation> sweep(String resourceName, List<Allocation> allocations) {
+        int n = allocations.size();
+        long[] start = new long[n];
+        long[] end = new long[n];
+        int[] load = new int[n];
+
+        // Event key: time in the high 32 bits, then an end(0)/start(1) flag, then the allocation
+        // index, so at equal times ends are applied before starts (intervals are half-open)
+        long[] events = new long[n * 2];
+        int eventCount = 0;
+        for (int i = 0; i < n; i++) {
+            Allocation allocation = allocations.get(i);
+            start[i] = allocation.getTask().getStartMinute();
+            end[i] = allocation.getTask().getEndMinute();
+            load[i] = allocation.getLoadPercentage();
+            if (end[i] > start[i]) {
+                events[eventCount++] = (start[i] << 32) | (1L << 31) | i;
+                events[eventCount++] = (end[i] << 32) | i;
+            }
+        }
+        Arrays.sort(events, 0, eventCount);
+
+        List<OverAllocation> result = new ArrayList<>();
+        int[] active = new int[n];
+        int[] positionInActive = new int[n];
+        int activeCount = 0;
+        int totalLoad = 0;
+
+        for (int e = 0; e < eventCount; ) {
+            long time = events[e] >> 32;
+
+            // Apply every event at this instant before looking at the load
+            while (e < eventCount && (events[e] >> 32) == time) {
+                int index = (int) (events[e] & 0x7FFFFFFFL);
+                if ((events[e] & (1L << 31)) != 0) {
+                    positionInActive[index] = activeCount;
+                    active[activeCount++] = index;
+                    totalLoad += load[index];
+                } else {
+                    int position = positionInActive[index];
+                    int moved = active[--activeCount];
+                    active[position] = moved;
+                    positionInActive[moved] = position;
+                    totalLoad -= load[index];
+                }
+                e++;
+            }
+
+            if (totalLoad > CAPACITY_PERCENTAGE && e < eventCount) {
+                long next = events[e] >> 32;
+                List<Integer> taskIds = new ArrayList<>(activeCount);
+                for (int a = 0; a < activeCount; a++) {
+                    taskIds.add(allocations.get(active[a]).getTask().getId());
+                }
+                taskIds.sort(Comparator.naturalOrder());
+                result.add(new OverAllocation(resourceName, Task.fromEpochMinute(time),
+                    Task.fromEpochMinute(next), totalLoad, Collections.unmodifiableList(taskIds)));
+            }
+        }
+        return result;
+    }
+}
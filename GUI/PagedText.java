@@ -0,0 +1,135 @@
+package GUI;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Report text cut into pages of PAGE_LINES lines, for showing one page at a time.
+//
+// Analyses append to it like a StringBuilder. The first page stays in memory;
+// every later page is written to a temporary file as soon as it is full and
+// read back only when it is shown, so a report of hundreds of MB never sits
+// on the heap or in a text component at once. Pages end on line breaks.
+//
+// One thread appends and then calls finish(); pages may be read from another
+// thread after that, given a happens-before edge such as SwingWorker.get().
+class PagedText implements AutoCloseable {
+    static final int PAGE_LINES = 1000;
+
+    private final StringBuilder page = new StringBuilder();
+    private int pageLines;
+    private String firstPage;
+    private int pageCount;
+    private long lineCount;
+    // Spill file holding pages 1.., and where each of them starts in it
+    private FileChannel spill;
+    private long[] pageOffsets = new long[16];
+
+    PagedText append(String text) {
+        page.append(text);
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+            pageLines++;
+        }
+        // Only cut once the page ends on a line break
+        if (pageLines >= PAGE_LINES && page.charAt(page.length() - 1) == '\n') {
+            endPage();
+        }
+        return this;
+    }
+
+    PagedText append(Object value) {
+        return append(String.valueOf(value));
+    }
+
+    PagedText append(char c) {
+        return append(String.valueOf(c));
+    }
+
+    PagedText append(long value) {
+        page.append(value);
+        return this;
+    }
+
+    // Ends the last page; nothing may be appended afterwards
+    void finish() {
+        if (page.length() > 0 || pageCount == 0) {
+            endPage();
+        }
+    }
+
+    int getPageCount() { return pageCount; }
+
+    long getLineCount() { return lineCount; }
+
+    // Reads back spilled pages on demand
+    String getPage(int index) {
+        if (index == 0) {
+            return firstPage;
+        }
+        long start = pageOffsets[index - 1];
+        ByteBuffer bytes = ByteBuffer.allocate((int) (pageOffsets[index] - start));
+        try {
+            while (bytes.hasRemaining()) {
+                if (spill.read(bytes, start + bytes.position()) < 0) {
+                    throw new IOException("Report page " + (index + 1) + " is truncated");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String(bytes.array(), StandardCharsets.UTF_8);
+    }
+
+    // Deletes the spill file
+    @Override
+    public void close() {
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                // The file is gone with the channel or at exit; nothing else to release
+            }
+        }
+    }
+
+    private void endPage() {
+        String text = page.toString();
+        if (pageCount == 0) {
+            firstPage = text;
+        } else {
+            writePage(text);
+        }
+        pageCount++;
+        lineCount += pageLines;
+        page.setLength(0);
+        pageLines = 0;
+    }
+
+    private void writePage(String text) {
+        try {
+            if (spill == null) {
+                Path file = Files.createTempFile("report", ".txt");
+                file.toFile().deleteOnExit();
+                spill = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                spill.write(bytes);
+            }
+            // Page i (i >= 1) spans pageOffsets[i - 1] .. pageOffsets[i]
+            if (pageCount + 1 > pageOffsets.length) {
+                pageOffsets = Arrays.copyOf(pageOffsets, pageOffsets.length * 2);
+            }
+            pageOffsets[pageCount] = spill.position();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
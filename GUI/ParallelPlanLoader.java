@@ -0,0 +1,221 @@
+package GUI;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Memory-maps a plan file, cuts it into newline-aligned chunks and parses
+// the chunks in parallel on the common fork-join pool. A chunk is dropped as
+// soon as it parses; its mapping is released once the buffer is garbage
+// collected, as the JDK offers no way to unmap it sooner.
+class ParallelPlanLoader {
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final long MAX_CHUNK_SIZE = 64L << 20;
+
+    // Turns one trimmed, non-empty line into a record
+    interface RecordParser<T> {
+        T parse(ByteBuffer buf, int start, int end) throws Exception;
+    }
+
+    private ParallelPlanLoader() {
+    }
+
+    static <T> List<T> parse(String filename, RecordParser<T> parser) throws FileParseException {
+        return parse(filename, parser, PlanFileParser.ProgressListener.NONE);
+    }
+
+    static <T> List<T> parse(String filename, RecordParser<T> parser,
+                             PlanFileParser.ProgressListener progress) throws FileParseException {
+        List<T> records = new ArrayList<>();
+        parse(filename, parser, progress, records);
+        return records;
+    }
+
+    // Adds the parsed records to the list in file order and returns how far the file
+    // was read (it is mapped at its size when opened). Progress is reported as chunks
+    // finish, from whichever pool thread finished them.
+    static <T> PlanFileParser.FileMark parse(String filename, RecordParser<T> parser,
+                                             PlanFileParser.ProgressListener progress,
+                                             List<T> records) throws FileParseException {
+        List<ByteBuffer> chunks;
+        long totalBytes;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            chunks = mapChunks(channel);
+            totalBytes = channel.size();
+        } catch (IOException e) {
+            throw new FileParseException("Could not read file: " + filename, e);
+        }
+
+        // Measured before parsing, which drops the chunks that parse
+        long mapped = 0;
+        for (ByteBuffer chunk : chunks) {
+            mapped += chunk.limit();
+        }
+        int tail = chunks.isEmpty() ? 0 : unfinishedBytes(chunks.get(chunks.size() - 1));
+
+        List<List<T>> results = new ArrayList<>(chunks.size());
+        List<FileParseException> errors = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            results.add(null);
+            errors.add(null);
+        }
+        int[] lineCounts = new int[chunks.size()];
+        ChunkProgress chunkProgress = new ChunkProgress(progress, totalBytes);
+        ForkJoinPool.commonPool().invoke(
+            new ChunkParser<>(chunks, 0, chunks.size(), parser, results, errors, lineCounts, chunkProgress));
+
+        for (int i = 0; i < chunks.size(); i++) {
+            if (errors.get(i) != null) {
+                throw renumber(chunks, lineCounts, i, parser);
+            }
+        }
+
+        for (List<T> result : results) {
+            records.addAll(result);
+        }
+        return markOf(mapped, tail, lineCounts);
+    }
+
+    // Bytes after the chunk's last newline
+    private static int unfinishedBytes(ByteBuffer chunk) {
+        return chunk.limit() - 1 - PlanFileParser.lastIndexOf(chunk, 0, chunk.limit(), (byte) '\n');
+    }
+
+    // Every chunk but the last ends with a newline, so only the last can hold an unfinished line
+    private static PlanFileParser.FileMark markOf(long mapped, int tail, int[] lineCounts) {
+        if (lineCounts.length == 0) {
+            return PlanFileParser.FileMark.START;
+        }
+        int lines = 0;
+        for (int count : lineCounts) {
+            lines += count;
+        }
+        if (tail == 0) {
+            return new PlanFileParser.FileMark(mapped, lines + 1);
+        }
+        return new PlanFileParser.FileMark(mapped - tail, lines);
+    }
+
+    // Maps the file chunk by chunk; every chunk except the last ends right after a newline
+    private static List<ByteBuffer> mapChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long chunkSize = Math.max(MIN_CHUNK_SIZE,
+            Math.min(MAX_CHUNK_SIZE, size / (ForkJoinPool.getCommonPoolParallelism() * 4L)));
+
+        List<ByteBuffer> chunks = new ArrayList<>();
+        long position = 0;
+        while (position < size) {
+            long length = Math.min(chunkSize, size - position);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int usable = (int) length;
+
+            if (position + length < size) {
+                int newline = PlanFileParser.lastIndexOf(mapped, 0, usable, (byte) '\n');
+                // A single line longer than the chunk: retry with a larger window
+                if (newline < 0) {
+                    if (chunkSize >= Integer.MAX_VALUE / 2) {
+                        throw new IOException("Line too long at byte offset " + position);
+                    }
+                    chunkSize *= 2;
+                    continue;
+                }
+                usable = newline + 1;
+            }
+
+            chunks.add(mapped.slice(0, usable));
+            position += usable;
+        }
+        return chunks;
+    }
+
+    // Re-parses the failing chunk with its absolute starting line so the error names the real line.
+    // Every chunk before the first failure parsed, so its line count is known.
+    private static <T> FileParseException renumber(List<ByteBuffer> chunks, int[] lineCounts, int failed,
+                                                   RecordParser<T> parser) {
+        int firstLine = 1;
+        for (int i = 0; i < failed; i++) {
+            firstLine += lineCounts[i];
+        }
+
+        ByteBuffer chunk = chunks.get(failed);
+        try {
+            PlanFileParser.scanLines(chunk, 0, chunk.limit(), firstLine,
+                (buf, start, end) -> parser.parse(buf, start, end));
+        } catch (FileParseException e) {
+            return e;
+        }
+        return new FileParseException("Error parsing chunk " + failed);
+    }
+
+    // Sums the sizes of finished chunks across pool threads
+    private static class ChunkProgress {
+        private final PlanFileParser.ProgressListener listener;
+        private final long totalBytes;
+        private final AtomicLong bytesRead = new AtomicLong();
+
+        ChunkProgress(PlanFileParser.ProgressListener listener, long totalBytes) {
+            this.listener = listener;
+            this.totalBytes = totalBytes;
+        }
+
+        void chunkDone(ByteBuffer chunk) {
+            listener.bytesRead(bytesRead.addAndGet(chunk.limit()), totalBytes);
+        }
+    }
+
+    private static class ChunkParser<T> extends RecursiveAction {
+        private final List<ByteBuffer> chunks;
+        private final int from;
+        private final int to;
+        private final RecordParser<T> parser;
+        private final List<List<T>> results;
+        private final List<FileParseException> errors;
+        private final int[] lineCounts;
+        private final ChunkProgress progress;
+
+        ChunkParser(List<ByteBuffer> chunks, int from, int to, RecordParser<T> parser,
+                    List<List<T>> results, List<FileParseException> errors, int[] lineCounts,
+                    ChunkProgress progress) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.parser = parser;
+            this.results = results;
+            this.errors = errors;
+            this.lineCounts = lineCounts;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ChunkParser<>(chunks, from, mid, parser, results, errors, lineCounts, progress),
+                          new ChunkParser<>(chunks, mid, to, parser, results, errors, lineCounts, progress));
+                return;
+            }
+            if (from == to) return;
+
+            ByteBuffer chunk = chunks.get(from);
+            List<T> records = new ArrayList<>();
+            try {
+                lineCounts[from] = PlanFileParser.scanLines(chunk, 0, chunk.limit(), 1,
+                    (buf, start, end) -> records.add(parser.parse(buf, start, end)));
+                results.set(from, records);
+                // Failed chunks are kept for renumber()
+                chunks.set(from, null);
+            } catch (FileParseException e) {
+                errors.set(from, e);
+            }
+            progress.chunkDone(chunk);
+        }
+    }
+}
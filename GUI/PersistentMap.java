@@ -0,0 +1,554 @@
+package GUI;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+// Immutable hash map (a hash array mapped trie) whose versions share structure.
+//
+// Every node holds up to 32 slots selected by the next bits of the key's hash;
+// a slot is either a key/value pair or a child node. Maps are not built by
+// copying: a Builder changes the nodes it created itself in place and hands
+// out read-only PersistentMaps in O(1). Once a map has been handed out, the
+// builder copies any node it shares with that map before changing it, so a
+// later write only copies the path from the root to the changed slot.
+// Keys and values must not be null.
+final class PersistentMap<K, V> extends AbstractMap<K, V> {
+    private static final Object[] NO_SLOTS = new Object[0];
+
+    private final Node root;
+    private final int size;
+
+    private Set<Map.Entry<K, V>> entrySet;
+    private Set<K> keySet;
+    private Collection<V> values;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        return key == null || root == null ? null : (V) root.find(0, hash(key), key);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<K, V>>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new SlotIterator<>(root, SlotIterator.ENTRIES);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        if (keySet == null) {
+            keySet = new AbstractSet<K>() {
+                @Override
+                public Iterator<K> iterator() {
+                    return new SlotIterator<>(root, SlotIterator.KEYS);
+                }
+
+                @Override
+                public boolean contains(Object key) {
+                    return containsKey(key);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return keySet;
+    }
+
+    // Iterates the values without building an entry per mapping
+    @Override
+    public Collection<V> values() {
+        if (values == null) {
+            values = new AbstractCollection<V>() {
+                @Override
+                public Iterator<V> iterator() {
+                    return new SlotIterator<>(root, SlotIterator.VALUES);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return values;
+    }
+
+    // The only writer of a line of maps. Not thread-safe, and must not be
+    // changed while one of its own views is being iterated.
+    static final class Builder<K, V> extends AbstractMap<K, V> implements SnapshotMap<K, V> {
+        private Node root;
+        private int size;
+        // Nodes created since the last snapshot carry this token and may be changed in place
+        private Edit edit = new Edit();
+        private PersistentMap<K, V> snapshot;
+
+        private Set<Map.Entry<K, V>> entrySet;
+        private Set<K> keySet;
+        private Collection<V> values;
+
+        @Override
+        public PersistentMap<K, V> snapshot() {
+            if (snapshot == null) {
+                snapshot = new PersistentMap<>(root, size);
+                edit = new Edit();
+            }
+            return snapshot;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            return key == null || root == null ? null : (V) root.find(0, hash(key), key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V put(K key, V value) {
+            Objects.requireNonNull(key, "key");
+            Objects.requireNonNull(value, "value");
+            Node start = root != null ? root : new BitmapNode(edit, 0, NO_SLOTS);
+            edit.previous = null;
+            Node updated = start.put(edit, 0, hash(key), key, value);
+            Object previous = edit.previous;
+            if (updated != root || previous != value) {
+                root = updated;
+                snapshot = null;
+            }
+            if (previous == null) size++;
+            return (V) previous;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V remove(Object key) {
+            if (key == null || root == null) return null;
+            edit.previous = null;
+            Node updated = root.remove(edit, 0, hash(key), key);
+            Object previous = edit.previous;
+            if (previous != null) {
+                root = updated;
+                snapshot = null;
+                size--;
+            }
+            return (V) previous;
+        }
+
+        @Override
+        public void clear() {
+            if (size == 0) return;
+            root = null;
+            size = 0;
+            snapshot = null;
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new AbstractSet<Map.Entry<K, V>>() {
+                    @Override
+                    public Iterator<Map.Entry<K, V>> iterator() {
+                        return new SlotIterator<>(root, SlotIterator.ENTRIES);
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+            return entrySet;
+        }
+
+        @Override
+        public Set<K> keySet() {
+            if (keySet == null) {
+                keySet = new AbstractSet<K>() {
+                    @Override
+                    public Iterator<K> iterator() {
+                        return new SlotIterator<>(root, SlotIterator.KEYS);
+                    }
+
+                    @Override
+                    public boolean contains(Object key) {
+                        return containsKey(key);
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+            return keySet;
+        }
+
+        @Override
+        public Collection<V> values() {
+            if (values == null) {
+                values = new AbstractCollection<V>() {
+                    @Override
+                    public Iterator<V> iterator() {
+                        return new SlotIterator<>(root, SlotIterator.VALUES);
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+            return values;
+        }
+    }
+
+    // Ownership token of one builder generation; also carries the value a put or remove replaced
+    private static final class Edit {
+        Object previous;
+    }
+
+    private static int hash(Object key) {
+        return key.hashCode();
+    }
+
+    // Levels take the hash from its top bits down, so Integer keys iterate in ascending
+    // order (negative ones last). shift counts the bits used above a level: the root
+    // takes two, every level below five, so the bottom level of dense ids is full.
+    private static int bit(int hash, int shift) {
+        return 1 << (shift == 0 ? hash >>> 30 : (hash << shift) >>> 27);
+    }
+
+    private static int deeper(int shift) {
+        return shift == 0 ? 2 : shift + 5;
+    }
+
+    private abstract static class Node {
+        abstract Object find(int shift, int hash, Object key);
+
+        // Returns the node to use in place of this one; edit.previous is set to the replaced value
+        abstract Node put(Edit edit, int shift, int hash, Object key, Object value);
+
+        // Returns the node to use in place of this one, or null once it is empty
+        abstract Node remove(Edit edit, int shift, int hash, Object key);
+
+        abstract int slotCount();
+
+        // Key of a pair slot, or null for a child slot
+        abstract Object keyAt(int slot);
+
+        // Value of a pair slot, or the child Node
+        abstract Object valueAt(int slot);
+    }
+
+    // Slots are stored densely in array as key, value pairs, in bit order of bitmap;
+    // a child node is stored as null, node
+    private static final class BitmapNode extends Node {
+        private final Edit edit;
+        private int bitmap;
+        private Object[] array;
+
+        BitmapNode(Edit edit, int bitmap, Object[] array) {
+            this.edit = edit;
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return null;
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[index];
+            if (k == null) return ((Node) array[index + 1]).find(deeper(shift), hash, key);
+            return key.equals(k) ? array[index + 1] : null;
+        }
+
+        @Override
+        Node put(Edit edit, int shift, int hash, Object key, Object value) {
+            int bit = bit(hash, shift);
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) != 0) {
+                Object k = array[index];
+                Object v = array[index + 1];
+                if (k == null) {
+                    Node child = ((Node) v).put(edit, deeper(shift), hash, key, value);
+                    return child == v ? this : set(edit, index + 1, child);
+                }
+                if (key.equals(k)) {
+                    edit.previous = v;
+                    return v == value ? this : set(edit, index + 1, value);
+                }
+                Node child = pair(edit, deeper(shift), hash(k), k, v, hash, key, value);
+                BitmapNode owned = editable(edit);
+                owned.array[index] = null;
+                owned.array[index + 1] = child;
+                return owned;
+            }
+
+            // New slot: shift the later pairs up, in place if this generation owns the node and it has room
+            int used = 2 * Integer.bitCount(bitmap);
+            if (this.edit == edit && used + 2 <= array.length) {
+                System.arraycopy(array, index, array, index + 2, used - index);
+                array[index] = key;
+                array[index + 1] = value;
+                bitmap |= bit;
+                return this;
+            }
+            // Otherwise into a larger array, leaving room for a few more slots
+            Object[] grown = new Object[Math.min(64, used + 8)];
+            System.arraycopy(array, 0, grown, 0, index);
+            grown[index] = key;
+            grown[index + 1] = value;
+            System.arraycopy(array, index, grown, index + 2, used - index);
+            if (this.edit == edit) {
+                array = grown;
+                bitmap |= bit;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap | bit, grown);
+        }
+
+        @Override
+        Node remove(Edit edit, int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return this;
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[index];
+            Object v = array[index + 1];
+            if (k == null) {
+                Node child = ((Node) v).remove(edit, deeper(shift), hash, key);
+                if (child == v) return this;
+                if (child != null) return set(edit, index + 1, child);
+            } else if (key.equals(k)) {
+                edit.previous = v;
+            } else {
+                return this;
+            }
+
+            // Drop the slot
+            if (bitmap == bit) return null;
+            int used = 2 * Integer.bitCount(bitmap);
+            BitmapNode owned = editable(edit);
+            System.arraycopy(owned.array, index + 2, owned.array, index, used - index - 2);
+            owned.array[used - 2] = null;
+            owned.array[used - 1] = null;
+            owned.bitmap ^= bit;
+            return owned;
+        }
+
+        @Override
+        int slotCount() {
+            return Integer.bitCount(bitmap);
+        }
+
+        @Override
+        Object keyAt(int slot) {
+            return array[2 * slot];
+        }
+
+        @Override
+        Object valueAt(int slot) {
+            return array[2 * slot + 1];
+        }
+
+        private BitmapNode editable(Edit edit) {
+            return this.edit == edit ? this : new BitmapNode(edit, bitmap, array.clone());
+        }
+
+        private BitmapNode set(Edit edit, int index, Object value) {
+            BitmapNode owned = editable(edit);
+            owned.array[index] = value;
+            return owned;
+        }
+    }
+
+    // Keys whose full 32-bit hashes are equal; rare, so it is always copied on change
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int index = indexOf(key);
+            return index < 0 ? null : array[index + 1];
+        }
+
+        @Override
+        Node put(Edit edit, int shift, int hash, Object key, Object value) {
+            if (hash != this.hash) {
+                // Push this node one level down next to the new key
+                Node parent = new BitmapNode(edit, bit(this.hash, shift), new Object[] {null, this});
+                return parent.put(edit, shift, hash, key, value);
+            }
+            int index = indexOf(key);
+            if (index >= 0) {
+                edit.previous = array[index + 1];
+                if (array[index + 1] == value) return this;
+                Object[] updated = array.clone();
+                updated[index + 1] = value;
+                return new CollisionNode(hash, updated);
+            }
+            Object[] updated = Arrays.copyOf(array, array.length + 2);
+            updated[array.length] = key;
+            updated[array.length + 1] = value;
+            return new CollisionNode(hash, updated);
+        }
+
+        @Override
+        Node remove(Edit edit, int shift, int hash, Object key) {
+            int index = indexOf(key);
+            if (index < 0) return this;
+            edit.previous = array[index + 1];
+            if (array.length == 2) return null;
+            Object[] updated = new Object[array.length - 2];
+            System.arraycopy(array, 0, updated, 0, index);
+            System.arraycopy(array, index + 2, updated, index, array.length - index - 2);
+            return new CollisionNode(hash, updated);
+        }
+
+        @Override
+        int slotCount() {
+            return array.length / 2;
+        }
+
+        @Override
+        Object keyAt(int slot) {
+            return array[2 * slot];
+        }
+
+        @Override
+        Object valueAt(int slot) {
+            return array[2 * slot + 1];
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) return i;
+            }
+            return -1;
+        }
+    }
+
+    // A node holding two keys that collided in the parent slot
+    private static Node pair(Edit edit, int shift, int hash1, Object key1, Object value1,
+                             int hash2, Object key2, Object value2) {
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+        }
+        Node node = new BitmapNode(edit, 0, NO_SLOTS);
+        node = node.put(edit, shift, hash1, key1, value1);
+        return node.put(edit, shift, hash2, key2, value2);
+    }
+
+    // Depth-first walk over the pair slots
+    private static final class SlotIterator<T> implements Iterator<T> {
+        static final int ENTRIES = 0;
+        static final int KEYS = 1;
+        static final int VALUES = 2;
+
+        private final int mode;
+        // One level per 5 hash bits plus a collision node
+        private final Node[] nodes = new Node[8];
+        private final int[] slots = new int[8];
+        private int depth = -1;
+
+        SlotIterator(Node root, int mode) {
+            this.mode = mode;
+            if (root != null) {
+                depth = 0;
+                nodes[0] = root;
+                advance();
+            }
+        }
+
+        // Moves to the next pair slot, or to depth -1 at the end
+        private void advance() {
+            while (depth >= 0) {
+                Node node = nodes[depth];
+                if (slots[depth] >= node.slotCount()) {
+                    depth--;
+                    if (depth >= 0) slots[depth]++;
+                    continue;
+                }
+                if (node.keyAt(slots[depth]) != null) return;
+                depth++;
+                nodes[depth] = (Node) node.valueAt(slots[depth - 1]);
+                slots[depth] = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (depth < 0) throw new NoSuchElementException();
+            Node node = nodes[depth];
+            int slot = slots[depth];
+            Object key = node.keyAt(slot);
+            Object value = node.valueAt(slot);
+            slots[depth]++;
+            advance();
+            switch (mode) {
+                case KEYS: return (T) key;
+                case VALUES: return (T) value;
+                default: return (T) new SimpleImmutableEntry<>(key, value);
+            }
+        }
+    }
+}
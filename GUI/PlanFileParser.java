@@ -0,0 +1,324 @@
+package GUI;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Byte-level parser for tasks.txt / resources.txt.
+// Lines are handed out as [start, end) ranges into a reused buffer, fields are
+// tokenized in place and numbers/timestamps are decoded without substrings.
+class PlanFileParser {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Receives one trimmed, non-empty line at a time
+    interface LineHandler {
+        void handle(ByteBuffer buf, int start, int end) throws Exception;
+    }
+
+    // Told how many bytes of the file have been consumed so far. A load is
+    // abandoned by throwing CancellationException from here.
+    interface ProgressListener {
+        ProgressListener NONE = (bytesRead, totalBytes) -> { };
+
+        void bytesRead(long bytesRead, long totalBytes);
+    }
+
+    // How far a load read a file: the offset just past the last complete line, and
+    // the number of the line that starts there. An unfinished last line is still
+    // parsed by the load but lies after the mark, so a PlanFileWatcher started at the
+    // mark reads it again once it is complete, replacing what the load made of it.
+    static final class FileMark {
+        static final FileMark START = new FileMark(0, 1);
+
+        final long offset;
+        final int nextLineNumber;
+
+        FileMark(long offset, int nextLineNumber) {
+            this.offset = offset;
+            this.nextLineNumber = nextLineNumber;
+        }
+    }
+
+    private PlanFileParser() {
+    }
+
+    static FileMark readLines(String filename, LineHandler handler) throws FileParseException {
+        return readLines(filename, handler, ProgressListener.NONE);
+    }
+
+    // Streams the file line by line up to its end at the time; parse errors are
+    // reported with their 1-based line number
+    static FileMark readLines(String filename, LineHandler handler,
+                              ProgressListener progress) throws FileParseException {
+        try (InputStream in = Files.newInputStream(Paths.get(filename))) {
+            long totalBytes = Files.size(Paths.get(filename));
+            long bytesRead = 0;
+            byte[] data = new byte[BUFFER_SIZE];
+            ByteBuffer buf = ByteBuffer.wrap(data);
+            int filled = 0;
+            int lineNumber = 1;
+            long markOffset = 0;
+            int markLineNumber = 1;
+            boolean eof = false;
+
+            while (!eof) {
+                int read = in.read(data, filled, data.length - filled);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    filled += read;
+                    bytesRead += read;
+                    // The file may have grown since it was opened
+                    progress.bytesRead(bytesRead, Math.max(totalBytes, bytesRead));
+                }
+
+                // Only complete lines are handled until the end of the file is reached
+                int consumed = eof ? filled : lastIndexOf(buf, 0, filled, (byte) '\n') + 1;
+                lineNumber += scanLines(buf, 0, consumed, lineNumber, handler);
+
+                // buf[0] is at file offset bytesRead - filled; only an unfinished line ends without a newline
+                int lastNewline = lastIndexOf(buf, 0, consumed, (byte) '\n');
+                if (lastNewline >= 0) {
+                    markOffset = bytesRead - filled + lastNewline + 1;
+                }
+                markLineNumber = lastNewline == consumed - 1 ? lineNumber : lineNumber - 1;
+
+                // Keep the unfinished line and grow the buffer if a single line fills it
+                int remaining = filled - consumed;
+                if (remaining == data.length) {
+                    byte[] grown = new byte[data.length * 2];
+                    System.arraycopy(data, 0, grown, 0, remaining);
+                    data = grown;
+                    buf = ByteBuffer.wrap(data);
+                } else if (consumed > 0) {
+                    System.arraycopy(data, consumed, data, 0, remaining);
+                }
+                filled = remaining;
+            }
+            return new FileMark(markOffset, markLineNumber);
+        } catch (IOException e) {
+            throw new FileParseException("Could not read file: " + filename, e);
+        }
+    }
+
+    // Handles every line in [from, to), numbering them from firstLineNumber.
+    // The last line may lack a trailing newline. Returns the number of lines seen.
+    static int scanLines(ByteBuffer buf, int from, int to, int firstLineNumber,
+                         LineHandler handler) throws FileParseException {
+        int lineNumber = firstLineNumber;
+        int lineStart = from;
+        for (int i = from; i < to; i++) {
+            if (buf.get(i) == '\n') {
+                handleLine(buf, lineStart, i, lineNumber++, handler);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < to) {
+            handleLine(buf, lineStart, to, lineNumber++, handler);
+        }
+        return lineNumber - firstLineNumber;
+    }
+
+    private static void handleLine(ByteBuffer buf, int start, int end, int lineNumber,
+                                   LineHandler handler) throws FileParseException {
+        start = skipLeading(buf, start, end);
+        end = skipTrailing(buf, start, end);
+        if (start == end) return;
+
+        try {
+            handler.handle(buf, start, end);
+        } catch (Exception e) {
+            throw new FileParseException(
+                String.format("Error parsing line %d: %s", lineNumber, text(buf, start, end)), e);
+        }
+    }
+
+    // Same line count as scanLines, without parsing anything
+    static int countLines(ByteBuffer buf, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (buf.get(i) == '\n') count++;
+        }
+        return (to > from && buf.get(to - 1) != '\n') ? count + 1 : count;
+    }
+
+    static Task parseTask(ByteBuffer buf, int start, int end) {
+        return parseTask(buf, start, end, null);
+    }
+
+    // Titles are interned in the dictionary when one is given
+    static Task parseTask(ByteBuffer buf, int start, int end, StringDictionary dictionary) {
+        int idEnd = indexOf(buf, start, end, (byte) ',');
+        int titleEnd = indexOf(buf, idEnd + 1, end, (byte) ',');
+        int startTimeEnd = indexOf(buf, titleEnd + 1, end, (byte) ',');
+        if (idEnd >= end || titleEnd >= end || startTimeEnd >= end) {
+            throw new IllegalArgumentException("Invalid task format: " + text(buf, start, end));
+        }
+        int endTimeEnd = indexOf(buf, startTimeEnd + 1, end, (byte) ',');
+
+        int id = parseInt(buf, start, idEnd);
+        String title = trimmedText(buf, idEnd + 1, titleEnd, dictionary);
+        LocalDateTime startTime = parseDateTime(buf, titleEnd + 1, startTimeEnd);
+        LocalDateTime endTime = parseDateTime(buf, startTimeEnd + 1, endTimeEnd);
+
+        List<Integer> dependencies = new ArrayList<>();
+        int fieldStart = endTimeEnd + 1;
+        while (fieldStart <= end) {
+            int fieldEnd = indexOf(buf, fieldStart, end, (byte) ',');
+            int s = skipLeading(buf, fieldStart, fieldEnd);
+            int e = skipTrailing(buf, s, fieldEnd);
+            if (s < e) {
+                dependencies.add(parseInt(buf, s, e));
+            }
+            fieldStart = fieldEnd + 1;
+        }
+
+        return new Task(id, title, startTime, endTime, dependencies);
+    }
+
+    static Resource parseResource(ByteBuffer buf, int start, int end) {
+        return parseResource(buf, start, end, null);
+    }
+
+    // Names are interned in the dictionary when one is given
+    static Resource parseResource(ByteBuffer buf, int start, int end, StringDictionary dictionary) {
+        int nameEnd = indexOf(buf, start, end, (byte) ',');
+        Resource resource = new Resource(trimmedText(buf, start, nameEnd, dictionary));
+
+        int fieldStart = nameEnd + 1;
+        while (fieldStart < end) {
+            int fieldEnd = indexOf(buf, fieldStart, end, (byte) ',');
+            int s = skipLeading(buf, fieldStart, fieldEnd);
+            int e = skipTrailing(buf, s, fieldEnd);
+            int colon = indexOf(buf, s, e, (byte) ':');
+            // Mirrors "a:b".split(":"): exactly one colon, and a trailing empty part is dropped
+            if (colon < e && colon + 1 < e && indexOf(buf, colon + 1, e, (byte) ':') == e) {
+                int taskId = parseInt(buf, s, colon);
+                int loadPercentage = parseInt(buf, colon + 1, e);
+                resource.addAllocation(taskId, loadPercentage);
+            }
+            fieldStart = fieldEnd + 1;
+        }
+
+        return resource;
+    }
+
+    // Decodes yyyyMMdd+HHmm with the same leniency as the SMART resolver of "yyyyMMddHHmm":
+    // day-of-month is clamped to the month length and 24:00 rolls over to the next day
+    static LocalDateTime parseDateTime(ByteBuffer buf, int start, int end) throws DateTimeParseException {
+        start = skipLeading(buf, start, end);
+        end = skipTrailing(buf, start, end);
+        if (end - start != 13 || buf.get(start + 8) != '+') {
+            throw new DateTimeParseException("Invalid datetime format", text(buf, start, end), 0);
+        }
+        for (int i = start; i < end; i++) {
+            if (i != start + 8 && !isDigit(buf.get(i))) {
+                throw new DateTimeParseException("Invalid datetime format", text(buf, start, end), 0);
+            }
+        }
+
+        int year = digits(buf, start, 4);
+        int month = digits(buf, start + 4, 2);
+        int day = digits(buf, start + 6, 2);
+        int hour = digits(buf, start + 9, 2);
+        int minute = digits(buf, start + 11, 2);
+
+        if (month >= 1 && month <= 12 && day >= 29 && day <= 31) {
+            day = Math.min(day, YearMonth.of(year, month).lengthOfMonth());
+        }
+        if (hour == 24 && minute == 0) {
+            return LocalDateTime.of(year, month, day, 0, 0).plusDays(1);
+        }
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    static int parseInt(ByteBuffer buf, int start, int end) {
+        start = skipLeading(buf, start, end);
+        end = skipTrailing(buf, start, end);
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buf.get(i) == '-' || buf.get(i) == '+')) {
+            negative = buf.get(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw new NumberFormatException("For input string: \"" + text(buf, start, end) + "\"");
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            byte b = buf.get(i);
+            if (!isDigit(b)) {
+                throw new NumberFormatException("For input string: \"" + text(buf, start, end) + "\"");
+            }
+            value = value * 10 + (b - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("For input string: \"" + text(buf, start, end) + "\"");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("For input string: \"" + text(buf, start, end) + "\"");
+        }
+        return (int) value;
+    }
+
+    static String text(ByteBuffer buf, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buf.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String trimmedText(ByteBuffer buf, int start, int end, StringDictionary dictionary) {
+        start = skipLeading(buf, start, end);
+        end = skipTrailing(buf, start, end);
+        return dictionary == null ? text(buf, start, end) : dictionary.intern(buf, start, end);
+    }
+
+    // Returns the index of the first match in [start, end), or end when there is none
+    static int indexOf(ByteBuffer buf, int start, int end, byte value) {
+        for (int i = start; i < end; i++) {
+            if (buf.get(i) == value) return i;
+        }
+        return end;
+    }
+
+    // Returns the index of the last match in [start, end), or start - 1 when there is none
+    static int lastIndexOf(ByteBuffer buf, int start, int end, byte value) {
+        for (int i = end - 1; i >= start; i--) {
+            if (buf.get(i) == value) return i;
+        }
+        return start - 1;
+    }
+
+    // Whitespace handling follows String.trim(): every byte <= ' ' is skipped
+    static int skipLeading(ByteBuffer buf, int start, int end) {
+        while (start < end && (buf.get(start) & 0xFF) <= ' ') start++;
+        return start;
+    }
+
+    static int skipTrailing(ByteBuffer buf, int start, int end) {
+        while (end > start && (buf.get(end - 1) & 0xFF) <= ' ') end--;
+        return end;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static int digits(ByteBuffer buf, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            value = value * 10 + (buf.get(i) - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,204 @@
+package GUI;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+
+// Follows tasks/resources files that are only ever appended to.
+//
+// For each file the offset just past the last complete line is remembered.
+// When the WatchService reports a change, only the bytes after that offset are
+// read, complete lines are parsed and handed to the listener as one delta, and
+// an unfinished last line is left for the next change. A file that shrinks was
+// rewritten, so it is read again from the start; its lines then replace the
+// tasks and resources with the same ids and names.
+//
+// Following starts where the load of the file stopped (its FileMark), and
+// whatever was appended since is read straight away, since no change event
+// will come for it.
+class PlanFileWatcher implements Closeable {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    // Called on the watcher thread; implementations move the work to wherever the project lives.
+    // mark is how far the file has been read once the delta is applied.
+    interface DeltaListener {
+        void tasksAppended(List<Task> tasks, PlanFileParser.FileMark mark);
+        void resourcesAppended(List<Resource> resources, PlanFileParser.FileMark mark);
+        void lineFailed(FileParseException error);
+    }
+
+    private final WatchService watchService;
+    private final FollowedFile tasks;
+    private final FollowedFile resources;
+    private final DeltaListener listener;
+
+    private static class FollowedFile {
+        final Path path;
+        long offset;
+        int nextLineNumber;
+
+        FollowedFile(Path path) {
+            this.path = path.toAbsolutePath();
+        }
+    }
+
+    // Either file may be null. Lines already in the files count as loaded.
+    PlanFileWatcher(Path tasksFile, Path resourcesFile, DeltaListener listener) throws IOException {
+        this(tasksFile, null, resourcesFile, null, listener);
+    }
+
+    // Follows each file from its mark; a null mark counts the lines already in the file as loaded
+    PlanFileWatcher(Path tasksFile, PlanFileParser.FileMark tasksMark,
+                    Path resourcesFile, PlanFileParser.FileMark resourcesMark,
+                    DeltaListener listener) throws IOException {
+        this.listener = listener;
+        this.tasks = tasksFile == null ? null : new FollowedFile(tasksFile);
+        this.resources = resourcesFile == null ? null : new FollowedFile(resourcesFile);
+
+        watchService = FileSystems.getDefault().newWatchService();
+        try {
+            for (FollowedFile file : new FollowedFile[] {tasks, resources}) {
+                if (file == null) continue;
+                PlanFileParser.FileMark mark = file == tasks ? tasksMark : resourcesMark;
+                if (mark == null) {
+                    skipToLastCompleteLine(file);
+                } else {
+                    file.offset = mark.offset;
+                    file.nextLineNumber = mark.nextLineNumber;
+                }
+                file.path.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+
+        Thread thread = new Thread(this::watch, "plan-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void watch() {
+        try {
+            // Appended between the load and the registration above
+            readChanges(true, true);
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                boolean tasksChanged = false;
+                boolean resourcesChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        tasksChanged = resourcesChanged = true;
+                        continue;
+                    }
+                    Path changed = directory.resolve((Path) event.context());
+                    tasksChanged |= tasks != null && changed.equals(tasks.path);
+                    resourcesChanged |= resources != null && changed.equals(resources.path);
+                }
+                key.reset();
+                readChanges(tasksChanged, resourcesChanged);
+            }
+        } catch (ClosedWatchServiceException e) {
+            // closed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Tasks first, so resource lines in the same change find their tasks
+    private void readChanges(boolean tasksChanged, boolean resourcesChanged) {
+        if (tasksChanged && tasks != null) {
+            List<Task> delta = readAppended(tasks, PlanFileParser::parseTask);
+            if (!delta.isEmpty()) listener.tasksAppended(delta, markOf(tasks));
+        }
+        if (resourcesChanged && resources != null) {
+            List<Resource> delta = readAppended(resources, PlanFileParser::parseResource);
+            if (!delta.isEmpty()) listener.resourcesAppended(delta, markOf(resources));
+        }
+    }
+
+    private static PlanFileParser.FileMark markOf(FollowedFile file) {
+        return new PlanFileParser.FileMark(file.offset, file.nextLineNumber);
+    }
+
+    // Parses the complete lines after the offset, reading CHUNK_SIZE bytes at a time so a
+    // large append or a re-read file never needs one buffer for all of it; a bad line is
+    // reported and skipped
+    private <T> List<T> readAppended(FollowedFile file, ParallelPlanLoader.RecordParser<T> parser) {
+        List<T> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file.path, StandardOpenOption.READ)) {
+            if (channel.size() < file.offset) {
+                file.offset = 0;
+                file.nextLineNumber = 1;
+            }
+            // Holds the unfinished line carried over from the previous read, then the new bytes
+            ByteBuffer buf = ByteBuffer.allocate(CHUNK_SIZE);
+            int read;
+            while ((read = channel.read(buf, file.offset + buf.position())) > 0) {
+                ByteBuffer chunk = buf;
+                int end = buf.position();
+                int lineStart = 0;
+                for (int i = end - read; i < end; i++) {
+                    if (buf.get(i) != '\n') continue;
+                    try {
+                        PlanFileParser.scanLines(chunk, lineStart, i, file.nextLineNumber,
+                            (b, start, lineEnd) -> records.add(parser.parse(b, start, lineEnd)));
+                    } catch (FileParseException e) {
+                        listener.lineFailed(e);
+                    }
+                    file.nextLineNumber++;
+                    lineStart = i + 1;
+                }
+                file.offset += lineStart;
+
+                buf.flip().position(lineStart);
+                buf.compact();
+                // A line longer than the buffer
+                if (!buf.hasRemaining()) {
+                    buf = ByteBuffer.allocate(buf.capacity() * 2).put(buf.flip());
+                }
+            }
+        } catch (IOException e) {
+            listener.lineFailed(new FileParseException("Could not read file: " + file.path, e));
+        }
+        return records;
+    }
+
+    private static void skipToLastCompleteLine(FollowedFile file) throws IOException {
+        file.offset = 0;
+        file.nextLineNumber = 1;
+        try (FileChannel channel = FileChannel.open(file.path, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(CHUNK_SIZE);
+            long position = 0;
+            int read;
+            while ((read = channel.read(buf, position)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    if (buf.get(i) == '\n') {
+                        file.offset = position + i + 1;
+                        file.nextLineNumber++;
+                    }
+                }
+                position += read;
+                buf.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package GUI;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Timings of the load, analysis and painting stages, for telling where a slow session goes.
+//
+//   try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.TASK_PARSE, false)) {
+//       ...
+//       span.setItems(tasks.size());
+//   }
+//
+// Every span records its duration, an item count and the bytes allocated while
+// it ran, into per-stage totals and a rolling window of the last WINDOW samples
+// that the percentiles and histograms are computed from. Each span is also a
+// JDK Flight Recorder event (GUI.PlanStage), which costs next to nothing unless
+// a recording is running.
+//
+// Allocation is counted on the calling thread, or process-wide for stages whose
+// work runs on the fork-join pool, where other threads' allocations leak in.
+final class PlanMetrics {
+    static final int WINDOW = 512;
+    // Histogram buckets: durations up to 1, 2, 4, ... 1024 ms, then everything longer
+    static final int BUCKETS = 12;
+
+    enum Stage {
+        TASK_PARSE("Task parsing"),
+        TASK_INSTALL("Task install"),
+        RESOURCE_PARSE("Resource parsing"),
+        ALLOCATION_BUILD("Allocation building"),
+        INTERVAL_INDEX("Interval index build"),
+        REACHABILITY_INDEX("Reachability index build"),
+        OVERLAPS("Dependency overlaps"),
+        ALL_OVERLAPS("Plan-wide overlaps"),
+        TIME_WINDOW("Time window query"),
+        IMPACT("Dependency impact"),
+        CRITICAL_PATH("Critical path"),
+        SIMULATION("Schedule simulation"),
+        CYCLES("Dependency cycles"),
+        OVER_ALLOCATION("Over-allocation"),
+        GANTT_PAINT("Gantt painting");
+
+        final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+    }
+
+    @Name("GUI.PlanStage")
+    @Label("Plan Stage")
+    @Category("Project Planner")
+    @Description("One load, analysis or painting stage")
+    @StackTrace(false)
+    static final class StageEvent extends Event {
+        @Label("Stage")
+        String stage;
+
+        @Label("Items")
+        long items;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocatedBytes;
+    }
+
+    // One timed run of a stage; close() records it
+    static final class Span implements AutoCloseable {
+        private final Stage stage;
+        private final boolean processWide;
+        private final long startNanos;
+        private final long startBytes;
+        private final StageEvent event = new StageEvent();
+        private long items;
+
+        private Span(Stage stage, boolean processWide) {
+            this.stage = stage;
+            this.processWide = processWide;
+            event.begin();
+            startBytes = allocatedBytes(processWide);
+            startNanos = System.nanoTime();
+        }
+
+        void setItems(long items) {
+            this.items = items;
+        }
+
+        @Override
+        public void close() {
+            long nanos = System.nanoTime() - startNanos;
+            long bytes = startBytes < 0 ? -1 : Math.max(0, allocatedBytes(processWide) - startBytes);
+            STATS[stage.ordinal()].record(nanos, items, bytes);
+            event.end();
+            if (event.shouldCommit()) {
+                event.stage = stage.label;
+                event.items = items;
+                event.allocatedBytes = bytes;
+                event.commit();
+            }
+        }
+    }
+
+    // Totals since start-up and the rolling window of one stage
+    static final class StageStats {
+        private long count;
+        private long totalNanos;
+        private long totalItems;
+        private long totalBytes;   // -1 when the JVM cannot count allocations
+        private final long[] window = new long[WINDOW];
+
+        private synchronized void record(long nanos, long items, long bytes) {
+            window[(int) (count % WINDOW)] = nanos;
+            count++;
+            totalNanos += nanos;
+            totalItems += items;
+            totalBytes = bytes < 0 ? -1 : totalBytes + bytes;
+        }
+
+        synchronized long getCount() { return count; }
+        synchronized long getTotalNanos() { return totalNanos; }
+        synchronized long getTotalItems() { return totalItems; }
+        synchronized long getTotalBytes() { return totalBytes; }
+
+        // The durations in the window, sorted
+        synchronized long[] getRecentNanos() {
+            long[] recent = Arrays.copyOf(window, (int) Math.min(count, WINDOW));
+            Arrays.sort(recent);
+            return recent;
+        }
+    }
+
+    private static final StageStats[] STATS = new StageStats[Stage.values().length];
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    static {
+        for (int i = 0; i < STATS.length; i++) {
+            STATS[i] = new StageStats();
+        }
+    }
+
+    private PlanMetrics() {
+    }
+
+    // processWide: count allocation on every thread, for stages that fan out to the fork-join pool
+    static Span start(Stage stage, boolean processWide) {
+        return new Span(stage, processWide);
+    }
+
+    static StageStats get(Stage stage) {
+        return STATS[stage.ordinal()];
+    }
+
+    // Per-stage table and histograms for the stages that have run, as plain text
+    static String summary() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-26s %6s %10s %9s %9s %9s %12s %12s%n",
+            "Stage", "Runs", "Total ms", "p50 ms", "p95 ms", "Max ms", "Items", "Allocated"));
+        StringBuilder histograms = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            StageStats stats = get(stage);
+            long[] recent = stats.getRecentNanos();
+            if (recent.length == 0) continue;
+            long bytes = stats.getTotalBytes();
+            out.append(String.format("%-26s %6d %10.1f %9.2f %9.2f %9.2f %12d %12s%n",
+                stage.label, stats.getCount(), stats.getTotalNanos() / 1e6,
+                percentile(recent, 0.50) / 1e6, percentile(recent, 0.95) / 1e6, recent[recent.length - 1] / 1e6,
+                stats.getTotalItems(), bytes < 0 ? "n/a" : formatBytes(bytes)));
+
+            histograms.append(String.format("%-26s", stage.label));
+            for (int count : histogram(recent)) {
+                histograms.append(String.format(" %6d", count));
+            }
+            histograms.append('\n');
+        }
+        if (histograms.length() == 0) {
+            return "No stages recorded yet\n";
+        }
+
+        out.append(String.format("%nDuration histogram over the last %d runs per stage (ms, upper bounds):%n", WINDOW));
+        out.append(String.format("%-26s", ""));
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            out.append(String.format(" %6s", bucket == BUCKETS - 1 ? "more" : "<=" + (1 << bucket)));
+        }
+        out.append('\n').append(histograms);
+        return out.toString();
+    }
+
+    // Counts per bucket; bucket b holds durations up to 2^b ms
+    static int[] histogram(long[] nanos) {
+        int[] counts = new int[BUCKETS];
+        for (long duration : nanos) {
+            long millis = (duration + 999_999) / 1_000_000;
+            int bucket = millis <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(millis - 1);
+            counts[Math.min(BUCKETS - 1, bucket)]++;
+        }
+        return counts;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, rank)];
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    // -1 when allocation cannot be counted. Process-wide sums the live threads, so
+    // threads that end during a stage take their share with them; pool workers stay.
+    private static long allocatedBytes(boolean processWide) {
+        if (THREADS == null) return -1;
+        if (!processWide) return THREADS.getCurrentThreadAllocatedBytes();
+        long total = 0;
+        for (long bytes : THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds())) {
+            if (bytes > 0) total += bytes;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,179 @@
+package GUI;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+// Incrementally maintained project-wide figures.
+//
+// Project reports every task and resource change here, so the overview can
+// read completion time and duration in O(log n) and per-resource effort
+// without rescanning the plan. Effort follows Resource.calculateTotalEffort:
+// a resource's entry counts as soon as a task with that id exists, whether
+// or not an Allocation object was created for it.
+//
+// Effort is summed exactly as minutes times load percentage and only turned
+// into hours when read, so any number of added and removed tasks leaves no
+// rounding drift (and no -0.00 for a resource whose tasks are all gone).
+class ProjectAnalytics {
+    // Minutes x percent in one hour of full-time work
+    private static final double UNITS_PER_HOUR = 60 * 100;
+
+    private final Map<Integer, Task> tasks;
+
+    // Multisets of start/end times (epoch minutes -> number of tasks)
+    private final TreeMap<Long, Integer> startTimes = new TreeMap<>();
+    private final TreeMap<Long, Integer> endTimes = new TreeMap<>();
+
+    // Handed to every published ProjectSnapshot, so it is persistent rather than copied
+    private final PersistentMap.Builder<String, Long> effort = new PersistentMap.Builder<>();
+    // Resource entries per task id, including ids that are not loaded (yet)
+    private final Map<Integer, List<Share>> sharesByTask = new HashMap<>();
+
+    private static class Share {
+        final String resourceName;
+        final int loadPercentage;
+
+        Share(String resourceName, int loadPercentage) {
+            this.resourceName = resourceName;
+            this.loadPercentage = loadPercentage;
+        }
+    }
+
+    // Reads task details from the owning project's live task map
+    ProjectAnalytics(Map<Integer, Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    void taskAdded(Task task) {
+        increment(startTimes, task.getStartMinute());
+        increment(endTimes, task.getEndMinute());
+        addTaskEffort(task, 1);
+    }
+
+    void taskRemoved(Task task) {
+        decrement(startTimes, task.getStartMinute());
+        decrement(endTimes, task.getEndMinute());
+        addTaskEffort(task, -1);
+    }
+
+    void resourceAdded(Resource resource) {
+        long total = 0;
+        for (Map.Entry<Integer, Integer> entry : resource.getAllocations().entrySet()) {
+            sharesByTask.computeIfAbsent(entry.getKey(), id -> new ArrayList<>(2))
+                .add(new Share(resource.getName(), entry.getValue()));
+            Task task = tasks.get(entry.getKey());
+            if (task != null) {
+                total += task.getDurationMinutes() * entry.getValue();
+            }
+        }
+        effort.put(resource.getName(), total);
+    }
+
+    void resourceRemoved(Resource resource) {
+        for (Integer taskId : resource.getAllocations().keySet()) {
+            List<Share> shares = sharesByTask.get(taskId);
+            if (shares == null) continue;
+            shares.removeIf(share -> share.resourceName.equals(resource.getName()));
+            if (shares.isEmpty()) {
+                sharesByTask.remove(taskId);
+            }
+        }
+        effort.remove(resource.getName());
+    }
+
+    // Calls back with (resource name, load percentage) for each resource entry naming the task id
+    void forEachShare(int taskId, BiConsumer<String, Integer> consumer) {
+        List<Share> shares = sharesByTask.get(taskId);
+        if (shares == null) return;
+        for (Share share : shares) {
+            consumer.accept(share.resourceName, share.loadPercentage);
+        }
+    }
+
+    boolean isEmpty() {
+        return startTimes.isEmpty();
+    }
+
+    // Earliest task start in epoch minutes; only valid when not empty
+    long getMinStart() {
+        return startTimes.firstKey();
+    }
+
+    // Latest task end in epoch minutes; only valid when not empty
+    long getMaxEnd() {
+        return endTimes.lastKey();
+    }
+
+    // Effort hours per resource name as of now; later changes do not show through
+    Map<String, Double> getResourceEffort() {
+        Map<String, Long> units = effort.snapshot();
+        return new AbstractMap<String, Double>() {
+            @Override
+            public Set<Map.Entry<String, Double>> entrySet() {
+                return new AbstractSet<Map.Entry<String, Double>>() {
+                    @Override
+                    public Iterator<Map.Entry<String, Double>> iterator() {
+                        Iterator<Map.Entry<String, Long>> entries = units.entrySet().iterator();
+                        return new Iterator<Map.Entry<String, Double>>() {
+                            @Override
+                            public boolean hasNext() {
+                                return entries.hasNext();
+                            }
+
+                            @Override
+                            public Map.Entry<String, Double> next() {
+                                Map.Entry<String, Long> entry = entries.next();
+                                return new SimpleImmutableEntry<>(entry.getKey(), entry.getValue() / UNITS_PER_HOUR);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return units.size();
+                    }
+                };
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return units.containsKey(key);
+            }
+
+            @Override
+            public Double get(Object key) {
+                Long value = units.get(key);
+                return value == null ? null : value / UNITS_PER_HOUR;
+            }
+
+            @Override
+            public int size() {
+                return units.size();
+            }
+        };
+    }
+
+    private void addTaskEffort(Task task, int sign) {
+        List<Share> shares = sharesByTask.get(task.getId());
+        if (shares == null) return;
+        for (Share share : shares) {
+            effort.merge(share.resourceName, sign * task.getDurationMinutes() * share.loadPercentage, Long::sum);
+        }
+    }
+
+    private static void increment(TreeMap<Long, Integer> counts, long key) {
+        counts.merge(key, 1, Integer::sum);
+    }
+
+    private static void decrement(TreeMap<Long, Integer> counts, long key) {
+        counts.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+}
@@ -1,21 +1,41 @@
 package GUI;
 
-import java.io.IOException;
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.time.ZoneOffset;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 public class ProjectPlanner {
     
     // Main method to run the application
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            System.exit(BatchAnalyzer.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--gantt")) {
+            System.exit(GanttExporter.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--report")) {
+            System.exit(ReportWriter.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        
+        // The standard stream flushes every line; a large plan prints millions of them
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16)));
         try {
-            Project project = new Project();
+            Project project = new Project(Arrays.asList(args).contains("--columnar")
+                ? Project.TaskStorage.COLUMNAR : Project.TaskStorage.OBJECTS);
+            if (Arrays.asList(args).contains("--parallel")) {
+                project.setLoadMode(Project.LoadMode.PARALLEL_MAPPED);
+            }
             
             // Try to find files in different locations
             String tasksFile = findFile("tasks.txt");
@@ -50,24 +70,25 @@ public class ProjectPlanner {
             
             // 2. Highlight overlapping tasks
             System.out.println("2. Overlapping Tasks:");
-            List<String> overlappingTasks = project.findOverlappingTasks();
-            if (overlappingTasks.isEmpty()) {
+            ProjectSnapshot snapshot = project.snapshot();
+            int[] overlapCount = new int[1];
+            snapshot.forEachOverlappingDependency((task, depTask) -> {
+                System.out.printf("   - Task %d ('%s') overlaps with dependency Task %d ('%s')%n",
+                    task.getId(), task.getTitle(), depTask.getId(), depTask.getTitle());
+                overlapCount[0]++;
+            });
+            if (overlapCount[0] == 0) {
                 System.out.println("   No overlapping tasks found");
-            } else {
-                overlappingTasks.forEach(overlap -> 
-                    System.out.println("   - " + overlap));
             }
             System.out.println();
             
             // 3. Find teams for each task
             System.out.println("3. Teams for Each Task:");
-            project.getTasks().keySet().stream()
-                .sorted()
-                .forEach(taskId -> {
-                    Set<String> team = project.getTeamForTask(taskId);
-                    System.out.printf("   Task %d: %s%n", taskId, 
-                        team.isEmpty() ? "No team assigned" : String.join(", ", team));
-                });
+            for (int taskId : snapshot.sortedTaskIds()) {
+                Set<String> team = snapshot.getTeamForTask(taskId);
+                System.out.printf("   Task %d: %s%n", taskId, 
+                    team.isEmpty() ? "No team assigned" : String.join(", ", team));
+            }
             System.out.println();
             
             // 4. Find total effort for each resource
@@ -80,15 +101,72 @@ public class ProjectPlanner {
                     System.out.printf("   %s: %.2f hours%n", name, hours));
             }
             
+            // 5. Critical path and slack per task
+            System.out.println();
+            System.out.println("5. Critical Path (CPM):");
+            try {
+                CriticalPathAnalyzer.Result cpm = project.analyzeCriticalPath();
+                System.out.println("   Earliest finish: " + cpm.getProjectFinish());
+                System.out.println("   Critical path: " + cpm.getCriticalPath().stream()
+                    .map(task -> String.valueOf(task.getId()))
+                    .collect(Collectors.joining(" -> ")));
+                System.out.println("   Slack per task (hours):");
+                Integer[] byId = new Integer[cpm.size()];
+                for (int i = 0; i < byId.length; i++) byId[i] = i;
+                Arrays.sort(byId, Comparator.comparingInt(i -> cpm.getTask(i).getId()));
+                for (int i : byId) {
+                    System.out.printf("   Task %d: ES %s, LF %s, float %.2f%s%n",
+                        cpm.getTask(i).getId(),
+                        cpm.toDateTime(cpm.getEarliestStart(i)),
+                        cpm.toDateTime(cpm.getLatestFinish(i)),
+                        cpm.getTotalFloat(i) / 60.0,
+                        cpm.isCritical(i) ? " (critical)" : "");
+                }
+            } catch (IllegalStateException e) {
+                System.out.println("   " + e.getMessage());
+            }
+            
+            // 6. Resources booked above 100% at the same time
+            System.out.println();
+            System.out.println("6. Resource Over-allocation:");
+            List<OverAllocationDetector.OverAllocation> overAllocations = project.findOverAllocations();
+            if (overAllocations.isEmpty()) {
+                System.out.println("   No resource is booked above 100%");
+            } else {
+                overAllocations.forEach(overAllocation ->
+                    System.out.println("   - " + overAllocation));
+            }
+            
+            // 7. Dependency cycles, which make ordering-based analyses meaningless
+            System.out.println();
+            System.out.println("7. Dependency Cycles:");
+            List<DependencyCycleDetector.Cycle> cycles = project.findDependencyCycles();
+            if (cycles.isEmpty()) {
+                System.out.println("   No dependency cycles found");
+            } else {
+                cycles.forEach(cycle -> System.out.println("   - " + cycle));
+            }
+            
             // Debug information
             System.out.println();
             System.out.println("Debug Information:");
             System.out.println("Total tasks loaded: " + project.getTasks().size());
             System.out.println("Total resources loaded: " + project.getResources().size());
             
+            // Where the time above went, stage by stage
+            if (Arrays.asList(args).contains("--stats")) {
+                System.out.println();
+                System.out.println("Performance Statistics:");
+                System.out.print(PlanMetrics.summary());
+            }
+            
         } catch (Exception e) {
+            System.out.flush();
             System.err.println("Error: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            System.out.flush();
+            System.setOut(stdout);
         }
     }
     
@@ -114,251 +192,574 @@ public class ProjectPlanner {
 
 // Project class - main container and manager
 class Project {
-    private final Map<Integer, Task> tasks = new HashMap<>();
-    private final Map<String, Resource> resources = new HashMap<>();
-    private final List<Allocation> allocations = new ArrayList<>();
-    
-    public void loadTasks(String filename) throws FileParseException {
-        List<String> lines = readLines(filename);
+    // How loadTasks/loadResources read their input
+    enum LoadMode {
+        STREAMING,       // one buffered pass on the calling thread
+        PARALLEL_MAPPED  // memory-mapped chunks parsed on the fork-join pool
+    }
+    
+    // Where task data is kept; fixed for the lifetime of the project
+    enum TaskStorage {
+        OBJECTS,   // one immutable Task object per task
+        COLUMNAR   // primitive columns in a TaskStore, read through Task views
+    }
+    
+    // Told about each published version, on the editing thread and under the project lock
+    interface ChangeListener {
+        void published(ProjectSnapshot snapshot);
+    }
+    
+    // Edits are serialized by synchronizing on the project, and each one ends by
+    // publishing a new ProjectSnapshot. The state below is only touched under that
+    // lock; readers on any thread go through the volatile snapshot and never lock.
+    private final TaskStorage taskStorage;
+    private final SnapshotMap<Integer, Task> tasks;
+    private final PersistentMap.Builder<String, Resource> resources = new PersistentMap.Builder<>();
+    // Allocations grouped by resource name; each list is replaced rather than changed
+    private final PersistentMap.Builder<String, List<Allocation>> allocations = new PersistentMap.Builder<>();
+    private int allocationCount;
+    // Resource name codes per task, in allocation order; each array is replaced rather than changed
+    private final PersistentMap.Builder<Integer, int[]> teamIndex = new PersistentMap.Builder<>();
+    // Titles and resource names. It only grows, so it is swapped for a compacted one once
+    // most of its strings are no longer used; loads parse into whichever one they started with.
+    private volatile StringDictionary dictionary = new StringDictionary();
+    private final ProjectAnalytics analytics;
+    private volatile LoadMode loadMode = LoadMode.STREAMING;
+    private int modificationCount;
+    // Tasks added since the last publish, or null once one was replaced or removed
+    private List<Task> addedTasks = new ArrayList<>();
+    private volatile ProjectSnapshot current;
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    
+    public Project() {
+        this(TaskStorage.OBJECTS);
+    }
+    
+    public Project(TaskStorage taskStorage) {
+        this.taskStorage = taskStorage;
+        this.tasks = taskStorage == TaskStorage.COLUMNAR
+            ? new TaskStore(dictionary) : new PersistentMap.Builder<>();
+        this.analytics = new ProjectAnalytics(tasks);
+        publish();
+    }
+    
+    public TaskStorage getTaskStorage() { return taskStorage; }
+    StringDictionary getDictionary() { return dictionary; }
+    public LoadMode getLoadMode() { return loadMode; }
+    public void setLoadMode(LoadMode loadMode) { this.loadMode = loadMode; }
+    public void addChangeListener(ChangeListener listener) { changeListeners.add(listener); }
+    public void removeChangeListener(ChangeListener listener) { changeListeners.remove(listener); }
+    
+    // The latest published version; O(1), never blocks, and stays unchanged while the project is edited
+    public ProjectSnapshot snapshot() {
+        return current;
+    }
+    
+    public PlanFileParser.FileMark loadTasks(String filename) throws FileParseException {
+        return loadTasks(filename, PlanFileParser.ProgressListener.NONE);
+    }
+    
+    // Parsing runs without the lock, so readers keep working off the previous snapshot meanwhile.
+    // Returns how far the file was read, for following it with a PlanFileWatcher.
+    public PlanFileParser.FileMark loadTasks(String filename, PlanFileParser.ProgressListener progress)
+            throws FileParseException {
+        boolean parallel = loadMode == LoadMode.PARALLEL_MAPPED;
+        StringDictionary names = dictionary;
         List<Task> taskList = new ArrayList<>();
-        
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (line.isEmpty()) continue;
-            
-            try {
-                Task task = parseTaskLine(line);
-                taskList.add(task);
-            } catch (Exception e) {
-                throw new FileParseException(
-                    String.format("Error parsing line %d: %s", i + 1, line), e);
+        PlanFileParser.FileMark mark;
+        try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.TASK_PARSE, parallel)) {
+            if (parallel) {
+                mark = ParallelPlanLoader.parse(filename,
+                    (buf, start, end) -> PlanFileParser.parseTask(buf, start, end, names), progress, taskList);
+            } else {
+                mark = PlanFileParser.readLines(filename,
+                    (buf, start, end) -> taskList.add(PlanFileParser.parseTask(buf, start, end, names)), progress);
             }
+            span.setItems(taskList.size());
         }
         
-        for (Task task : taskList) {
-            tasks.put(task.getId(), task);
-        }
-        
-        // Link dependency tasks
-        for (Task task : tasks.values()) {
-            for (int depId : task.getDependencyIds()) {
-                Task depTask = tasks.get(depId);
-                if (depTask != null) {
-                    task.addDependencyTask(depTask);
+        int loaded;
+        synchronized (this) {
+            try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.TASK_INSTALL, parallel)) {
+                for (Task task : taskList) {
+                    putTask(task);
                 }
+                span.setItems(taskList.size());
             }
+            publish();
+            // Columnar plans build the index on first query; it would pin a view per task
+            if (taskStorage == TaskStorage.OBJECTS) {
+                current.getIntervalIndex();
+            }
+            loaded = tasks.size();
         }
         
-        System.out.println("Successfully loaded " + tasks.size() + " tasks");
+        System.out.println("Successfully loaded " + loaded + " tasks");
+        return mark;
+    }
+    
+    public PlanFileParser.FileMark loadResources(String filename) throws FileParseException {
+        return loadResources(filename, PlanFileParser.ProgressListener.NONE);
     }
     
-    public void loadResources(String filename) throws FileParseException {
-        List<String> lines = readLines(filename);
+    public PlanFileParser.FileMark loadResources(String filename, PlanFileParser.ProgressListener progress)
+            throws FileParseException {
+        boolean parallel = loadMode == LoadMode.PARALLEL_MAPPED;
+        StringDictionary names = dictionary;
         List<Resource> resourceList = new ArrayList<>();
-        
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (line.isEmpty()) continue;
-            
-            try {
-                Resource resource = parseResourceLine(line);
-                resourceList.add(resource);
-            } catch (Exception e) {
-                throw new FileParseException(
-                    String.format("Error parsing line %d: %s", i + 1, line), e);
+        PlanFileParser.FileMark mark;
+        try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.RESOURCE_PARSE, parallel)) {
+            if (parallel) {
+                mark = ParallelPlanLoader.parse(filename,
+                    (buf, start, end) -> PlanFileParser.parseResource(buf, start, end, names), progress,
+                    resourceList);
+            } else {
+                mark = PlanFileParser.readLines(filename,
+                    (buf, start, end) -> resourceList.add(PlanFileParser.parseResource(buf, start, end, names)),
+                    progress);
             }
+            span.setItems(resourceList.size());
         }
         
-        for (Resource resource : resourceList) {
-            resources.put(resource.getName(), resource);
-            
-            // Create allocation objects
-            for (Map.Entry<Integer, Integer> entry : resource.getAllocations().entrySet()) {
-                Task task = tasks.get(entry.getKey());
-                if (task != null) {
-                    allocations.add(new Allocation(resource, task, entry.getValue()));
+        int loaded;
+        synchronized (this) {
+            try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.ALLOCATION_BUILD, parallel)) {
+                for (Resource resource : resourceList) {
+                    putResource(resource);
                 }
+                
+                // Create allocation objects
+                int before = allocationCount;
+                if (parallel) {
+                    addAllocations(resourceList.parallelStream()
+                        .flatMap(resource -> createAllocations(resource).stream())
+                        .collect(Collectors.toList()));
+                } else {
+                    for (Resource resource : resourceList) {
+                        addAllocations(createAllocations(resource));
+                    }
+                }
+                span.setItems(allocationCount - before);
             }
+            publish();
+            loaded = resources.size();
         }
         
-        System.out.println("Successfully loaded " + resources.size() + " resources");
+        System.out.println("Successfully loaded " + loaded + " resources");
+        return mark;
     }
     
-    private Task parseTaskLine(String line) throws DateTimeParseException {
-        String[] parts = line.split(",");
-        if (parts.length < 4) {
-            throw new IllegalArgumentException("Invalid task format: " + line);
+    private List<Allocation> createAllocations(Resource resource) {
+        List<Allocation> created = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : resource.getAllocations().entrySet()) {
+            Task task = tasks.get(entry.getKey());
+            if (task != null) {
+                created.add(new Allocation(resource, task, entry.getValue()));
+            }
         }
-        
-        int id = Integer.parseInt(parts[0].trim());
-        String title = parts[1].trim();
-        LocalDateTime startTime = parseDateTime(parts[2].trim());
-        LocalDateTime endTime = parseDateTime(parts[3].trim());
-        
-        List<Integer> dependencies = new ArrayList<>();
-        if (parts.length > 4) {
-            for (int i = 4; i < parts.length; i++) {
-                String dep = parts[i].trim();
-                if (!dep.isEmpty()) {
-                    dependencies.add(Integer.parseInt(dep));
+        return created;
+    }
+    
+    // Every allocation goes through here so the task -> team index stays in sync
+    private void addAllocations(List<Allocation> created) {
+        Map<String, List<Allocation>> byResource = new LinkedHashMap<>();
+        for (Allocation allocation : created) {
+            String name = allocation.getResource().getName();
+            byResource.computeIfAbsent(name, n -> new ArrayList<>()).add(allocation);
+            int code = dictionary.code(name);
+            teamIndex.compute(allocation.getTask().getId(), (taskId, team) -> {
+                if (team == null) return new int[] {code};
+                for (int member : team) {
+                    if (member == code) return team;
                 }
+                // Teams are small and handed out as-is, so they are copied on write
+                int[] updated = Arrays.copyOf(team, team.length + 1);
+                updated[team.length] = code;
+                return updated;
+            });
+        }
+        for (Map.Entry<String, List<Allocation>> entry : byResource.entrySet()) {
+            List<Allocation> existing = allocations.get(entry.getKey());
+            List<Allocation> updated = entry.getValue();
+            if (existing != null) {
+                updated = new ArrayList<>(existing);
+                updated.addAll(entry.getValue());
+            }
+            allocations.put(entry.getKey(), Collections.unmodifiableList(updated));
+        }
+        allocationCount += created.size();
+    }
+    
+    // Rewrites the allocations of the named resources that match the task id: replaced by
+    // the result of the function, or dropped when it returns null
+    private void updateAllocations(Collection<String> resourceNames, int taskId,
+                                   UnaryOperator<Allocation> update) {
+        for (String name : resourceNames) {
+            List<Allocation> existing = allocations.get(name);
+            if (existing == null) continue;
+            List<Allocation> updated = new ArrayList<>(existing.size());
+            for (Allocation allocation : existing) {
+                Allocation result = allocation.getTask().getId() == taskId ? update.apply(allocation) : allocation;
+                if (result != null) {
+                    updated.add(result);
+                }
+            }
+            allocationCount -= existing.size() - updated.size();
+            if (updated.isEmpty()) {
+                allocations.remove(name);
+            } else {
+                allocations.put(name, Collections.unmodifiableList(updated));
             }
         }
-        
-        return new Task(id, title, startTime, endTime, dependencies);
     }
     
-    private Resource parseResourceLine(String line) {
-        String[] parts = line.split(",");
-        if (parts.length < 1) {
-            throw new IllegalArgumentException("Invalid resource format: " + line);
+    // Task and resource maps are only written through these two, so analytics stay current
+    private void putTask(Task task) {
+        Task old = tasks.put(task.getId(), task);
+        if (old != null) {
+            analytics.taskRemoved(old);
+            addedTasks = null;
+        } else if (addedTasks != null) {
+            addedTasks.add(task);
         }
-        
-        String name = parts[0].trim();
-        Resource resource = new Resource(name);
-        
-        for (int i = 1; i < parts.length; i++) {
-            String allocation = parts[i].trim();
-            if (allocation.contains(":")) {
-                String[] allocationParts = allocation.split(":");
-                if (allocationParts.length == 2) {
-                    int taskId = Integer.parseInt(allocationParts[0].trim());
-                    int loadPercentage = Integer.parseInt(allocationParts[1].trim());
-                    resource.addAllocation(taskId, loadPercentage);
-                }
+        analytics.taskAdded(task);
+    }
+    
+    private void putResource(Resource resource) {
+        Resource old = resources.put(resource.getName(), resource);
+        if (old != null) {
+            analytics.resourceRemoved(old);
+        }
+        analytics.resourceAdded(resource);
+    }
+    
+    // Makes the current state visible to readers as one new version
+    private void publish() {
+        compactDictionaryIfWasteful();
+        modificationCount++;
+        current = new ProjectSnapshot(modificationCount, tasks.snapshot(), resources.snapshot(),
+            allocations.snapshot(), allocationCount, teamIndex.snapshot(), dictionary, analytics, current, addedTasks);
+        addedTasks = new ArrayList<>();
+        for (ChangeListener listener : changeListeners) {
+            listener.published(current);
+        }
+    }
+    
+    // Loads that replace most titles and names leave the dictionary full of strings nothing
+    // uses. Once it holds more than twice as many as there are tasks and resources, the live
+    // ones are coded into a new dictionary. Older snapshots keep the old one with their codes.
+    private void compactDictionaryIfWasteful() {
+        StringDictionary old = dictionary;
+        if (old.size() <= 2L * (tasks.size() + resources.size()) + 1024) return;
+        StringDictionary compacted = new StringDictionary();
+        if (tasks instanceof TaskStore) {
+            ((TaskStore) tasks).recode(compacted);
+        } else {
+            // Later loads then share the titles the tasks already hold
+            for (Task task : tasks.values()) {
+                compacted.code(task.getTitle());
             }
         }
-        
-        return resource;
+        for (String name : resources.keySet()) {
+            compacted.code(name);
+        }
+        for (Map.Entry<Integer, int[]> entry : teamIndex.snapshot().entrySet()) {
+            int[] team = new int[entry.getValue().length];
+            for (int i = 0; i < team.length; i++) {
+                team[i] = compacted.code(old.get(entry.getValue()[i]));
+            }
+            teamIndex.put(entry.getKey(), team);
+        }
+        dictionary = compacted;
+    }
+    
+    // Adds a task, or replaces the task with the same id
+    public synchronized void addTask(Task task) {
+        boolean added = !tasks.containsKey(task.getId());
+        insertTask(task);
+        if (added) {
+            linkNewTasks(Collections.singleton(task.getId()));
+        }
+        publish();
     }
     
-    private LocalDateTime parseDateTime(String dateTimeStr) throws DateTimeParseException {
-        Pattern DATE_PATTERN = Pattern.compile("\\d{8}\\+\\d{4}");
-        DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+    private void insertTask(Task task) {
+        boolean replaced = tasks.containsKey(task.getId());
+        putTask(task);
         
-        if (!DATE_PATTERN.matcher(dateTimeStr).matches()) {
-            throw new DateTimeParseException("Invalid datetime format", dateTimeStr, 0);
+        if (replaced) {
+            // Allocations move over to the replacement; dependents find it by id
+            Task stored = tasks.get(task.getId());
+            updateAllocations(teamOf(task.getId()), task.getId(), allocation ->
+                new Allocation(allocation.getResource(), stored, allocation.getLoadPercentage()));
         }
+    }
+    
+    public synchronized Task removeTask(int taskId) {
+        Task removed = tasks.remove(taskId);
+        if (removed == null) return null;
         
-        String normalized = dateTimeStr.replace("+", "");
-        return LocalDateTime.parse(normalized, FORMATTER);
+        analytics.taskRemoved(removed);
+        addedTasks = null;
+        updateAllocations(teamOf(taskId), taskId, allocation -> null);
+        teamIndex.remove(taskId);
+        
+        publish();
+        return removed;
     }
     
-    private List<String> readLines(String filename) throws FileParseException {
-        try {
-            return Files.readAllLines(Paths.get(filename));
-        } catch (IOException e) {
-            throw new FileParseException("Could not read file: " + filename, e);
+    private Set<String> teamOf(int taskId) {
+        int[] team = teamIndex.get(taskId);
+        return team == null ? Collections.emptySet() : dictionary.asSet(team);
+    }
+    
+    // Applies task lines appended to a plan file: each task is added or replaces the
+    // one with its id, and resources that already named a new id get allocated to it
+    public synchronized void applyTaskDelta(List<Task> delta) {
+        Set<Integer> newIds = new HashSet<>();
+        for (Task task : delta) {
+            if (!tasks.containsKey(task.getId())) {
+                newIds.add(task.getId());
+            }
+            insertTask(task);
+        }
+        if (!newIds.isEmpty()) {
+            linkNewTasks(newIds);
         }
+        publish();
     }
     
-    public LocalDateTime getProjectCompletionTime() {
-        return tasks.values().stream()
-            .map(Task::getEndTime)
-            .max(LocalDateTime::compareTo)
-            .orElse(null);
+    // Allocates tasks that were just added under ids nothing held before to the resources
+    // that already named them. Tasks that name them as dependencies resolve them by id.
+    private void linkNewTasks(Set<Integer> newIds) {
+        List<Allocation> created = new ArrayList<>();
+        for (int taskId : newIds) {
+            Task task = tasks.get(taskId);
+            analytics.forEachShare(taskId, (name, loadPercentage) ->
+                created.add(new Allocation(resources.get(name), task, loadPercentage)));
+        }
+        addAllocations(created);
     }
     
-    public double getProjectDurationInHours() {
-        Optional<LocalDateTime> minStart = tasks.values().stream()
-            .map(Task::getStartTime)
-            .min(LocalDateTime::compareTo);
-        
-        Optional<LocalDateTime> maxEnd = tasks.values().stream()
-            .map(Task::getEndTime)
-            .max(LocalDateTime::compareTo);
-        
-        if (minStart.isPresent() && maxEnd.isPresent()) {
-            return java.time.Duration.between(minStart.get(), maxEnd.get()).toHours();
+    // Applies resource lines appended to a plan file
+    public synchronized void applyResourceDelta(List<Resource> delta) {
+        for (Resource resource : delta) {
+            replaceResource(resource);
         }
-        
-        return 0;
+        publish();
+    }
+    
+    // Adds a resource, or replaces the resource with the same name along with its allocations
+    public synchronized void addResource(Resource resource) {
+        replaceResource(resource);
+        publish();
+    }
+    
+    private void replaceResource(Resource resource) {
+        deleteResource(resource.getName());
+        putResource(resource);
+        addAllocations(createAllocations(resource));
     }
     
-    public List<String> findOverlappingTasks() {
-        List<String> overlaps = new ArrayList<>();
+    public synchronized Resource removeResource(String name) {
+        Resource removed = deleteResource(name);
+        if (removed != null) {
+            publish();
+        }
+        return removed;
+    }
+    
+    private Resource deleteResource(String name) {
+        Resource removed = resources.remove(name);
+        if (removed == null) return null;
         
-        for (Task task : tasks.values()) {
-            for (Task depTask : task.getDependencyTasks()) {
-                if (task.overlapsWith(depTask)) {
-                    String overlap = String.format(
-                        "Task %d ('%s') overlaps with dependency Task %d ('%s')",
-                        task.getId(), task.getTitle(), depTask.getId(), depTask.getTitle()
-                    );
-                    overlaps.add(overlap);
+        analytics.resourceRemoved(removed);
+        List<Allocation> dropped = allocations.remove(name);
+        if (dropped == null) return removed;
+        allocationCount -= dropped.size();
+        int code = dictionary.find(name);
+        for (Allocation allocation : dropped) {
+            int taskId = allocation.getTask().getId();
+            int[] team = teamIndex.get(taskId);
+            int index = team == null ? -1 : indexOf(team, code);
+            if (index >= 0) {
+                if (team.length == 1) {
+                    teamIndex.remove(taskId);
+                } else {
+                    int[] updated = new int[team.length - 1];
+                    System.arraycopy(team, 0, updated, 0, index);
+                    System.arraycopy(team, index + 1, updated, index, updated.length - index);
+                    teamIndex.put(taskId, updated);
                 }
             }
         }
-        
-        return overlaps;
+        return removed;
     }
     
-    public Set<String> getTeamForTask(int taskId) {
-        return allocations.stream()
-            .filter(allocation -> allocation.getTask().getId() == taskId)
-            .map(allocation -> allocation.getResource().getName())
-            .collect(Collectors.toSet());
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) return i;
+        }
+        return -1;
     }
     
-    public Map<String, Double> getResourceEffort() {
-        Map<String, Double> effort = new HashMap<>();
+    // Installs records that were decoded elsewhere, e.g. by SnapshotFile
+    synchronized void restore(Map<Integer, Task> taskMap, Map<String, Resource> resourceMap,
+                              Collection<Allocation> allocationList) {
+        for (Task task : taskMap.values()) {
+            putTask(task);
+        }
+        for (Resource resource : resourceMap.values()) {
+            putResource(resource);
+        }
+        List<Allocation> installed = new ArrayList<>(allocationList.size());
+        for (Allocation allocation : allocationList) {
+            // Point columnar allocations at the stored views so the decoded tasks can be collected
+            installed.add(taskStorage == TaskStorage.COLUMNAR
+                ? new Allocation(allocation.getResource(), tasks.get(allocation.getTask().getId()),
+                    allocation.getLoadPercentage())
+                : allocation);
+        }
+        addAllocations(installed);
+        publish();
+        if (taskStorage == TaskStorage.OBJECTS) {
+            current.getIntervalIndex();
+        }
+    }
+    
+    // Independent copy with the same storage and load mode. Reads
+    // one snapshot, so it may run while this project is being edited.
+    // Resources are shared; they are not changed once created. The copy codes its
+    // strings into its own dictionary, so it never keeps the original's unused ones.
+    Project copy() {
+        ProjectSnapshot source = snapshot();
+        Project copy = new Project(taskStorage);
+        copy.loadMode = loadMode;
         
-        for (Resource resource : resources.values()) {
-            effort.put(resource.getName(), resource.calculateTotalEffort(tasks));
+        Map<Integer, Task> taskCopies = new HashMap<>(source.getTaskCount() * 4 / 3 + 1);
+        for (Task task : source.tasks()) {
+            taskCopies.put(task.getId(), new Task(task.getId(), task.getTitle(),
+                task.getStartMinute(), task.getEndMinute(), task.getDependencyIds()));
         }
         
-        return effort;
+        List<Allocation> allocationCopies = new ArrayList<>(source.getAllocations().size());
+        for (Allocation allocation : source.getAllocations()) {
+            allocationCopies.add(new Allocation(allocation.getResource(),
+                taskCopies.get(allocation.getTask().getId()), allocation.getLoadPercentage()));
+        }
+        copy.restore(taskCopies, source.getResources(), allocationCopies);
+        return copy;
+    }
+    
+    // Each reader below answers from a single snapshot; callers that combine several
+    // answers should take one snapshot() and ask it instead
+    public LocalDateTime getProjectCompletionTime() { return snapshot().getProjectCompletionTime(); }
+    public double getProjectDurationInHours() { return snapshot().getProjectDurationInHours(); }
+    public List<String> findOverlappingTasks() { return snapshot().findOverlappingTasks(); }
+    IntervalIndex getIntervalIndex() { return snapshot().getIntervalIndex(); }
+    
+    public List<Task> findTasksInWindow(LocalDateTime from, LocalDateTime to) {
+        return snapshot().findTasksInWindow(from, to);
+    }
+    
+    public List<String> findAllOverlappingTaskPairs() { return snapshot().findAllOverlappingTaskPairs(); }
+    public Set<String> getTeamForTask(int taskId) { return snapshot().getTeamForTask(taskId); }
+    public CriticalPathAnalyzer.Result analyzeCriticalPath() { return snapshot().analyzeCriticalPath(); }
+    
+    public ScheduleSimulator.Result simulateSchedule(int trials, long seed) {
+        return snapshot().simulateSchedule(trials, seed);
     }
     
-    public Map<Integer, Task> getTasks() { return new HashMap<>(tasks); }
-    public Map<String, Resource> getResources() { return new HashMap<>(resources); }
-    public List<Allocation> getAllocations() { return new ArrayList<>(allocations); }
+    public List<DependencyCycleDetector.Cycle> findDependencyCycles() { return snapshot().findDependencyCycles(); }
+    public List<Task> findUpstreamTasks(int taskId) { return snapshot().findUpstreamTasks(taskId); }
+    public List<Task> findDownstreamTasks(int taskId) { return snapshot().findDownstreamTasks(taskId); }
+    public boolean isUpstream(int upstreamId, int taskId) { return snapshot().isUpstream(upstreamId, taskId); }
+    public List<OverAllocationDetector.OverAllocation> findOverAllocations() { return snapshot().findOverAllocations(); }
+    public Map<String, Double> getResourceEffort() { return snapshot().getResourceEffort(); }
+    
+    // Read-only snapshot views; nothing is copied
+    public Map<Integer, Task> getTasks() { return snapshot().getTasks(); }
+    public int getTaskCount() { return snapshot().getTaskCount(); }
+    public Map<String, Resource> getResources() { return snapshot().getResources(); }
+    public Collection<Allocation> getAllocations() { return snapshot().getAllocations(); }
 }
 
 // Task class
+//
+// Immutable, so one Task can sit in every published snapshot. Dependencies are
+// kept as ids only; ProjectSnapshot.getDependencyTasks and DependencyGraph
+// resolve them against the tasks of one version.
 class Task {
     private final int id;
     private final String title;
-    private final LocalDateTime startTime;
-    private final LocalDateTime endTime;
+    // Epoch minutes (see toEpochMinute); plan files only carry minute precision
+    private final long startMinute;
+    private final long endMinute;
+    private final long durationMinutes;
     private final List<Integer> dependencyIds;
-    private final List<Task> dependencyTasks;
     
     public Task(int id, String title, LocalDateTime startTime, LocalDateTime endTime, List<Integer> dependencyIds) {
+        this(id, title, toEpochMinute(startTime), toEpochMinute(endTime), dependencyIds);
+    }
+    
+    Task(int id, String title, long startMinute, long endMinute, List<Integer> dependencyIds) {
         this.id = id;
         this.title = title;
-        this.startTime = startTime;
-        this.endTime = endTime;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+        this.durationMinutes = endMinute - startMinute;
         this.dependencyIds = new ArrayList<>(dependencyIds);
-        this.dependencyTasks = new ArrayList<>();
+    }
+    
+    // For subclasses that keep the task data elsewhere and override every accessor
+    Task(int id) {
+        this.id = id;
+        this.title = null;
+        this.startMinute = 0;
+        this.endMinute = 0;
+        this.durationMinutes = 0;
+        this.dependencyIds = null;
     }
     
     public int getId() { return id; }
     public String getTitle() { return title; }
-    public LocalDateTime getStartTime() { return startTime; }
-    public LocalDateTime getEndTime() { return endTime; }
+    public long getStartMinute() { return startMinute; }
+    public long getEndMinute() { return endMinute; }
+    public long getDurationMinutes() { return durationMinutes; }
+    // Built on each call from the epoch minutes; hot paths use the primitive accessors
+    public LocalDateTime getStartTime() { return fromEpochMinute(getStartMinute()); }
+    public LocalDateTime getEndTime() { return fromEpochMinute(getEndMinute()); }
     public List<Integer> getDependencyIds() { return new ArrayList<>(dependencyIds); }
-    public List<Task> getDependencyTasks() { return new ArrayList<>(dependencyTasks); }
+    public int getDependencyCount() { return dependencyIds.size(); }
+    public int getDependencyId(int index) { return dependencyIds.get(index); }
     
-    public void addDependencyTask(Task task) {
-        if (!dependencyTasks.contains(task)) {
-            dependencyTasks.add(task);
-        }
+    // Fractional hours, so a 90 minute task counts 1.5
+    public double getDurationInHours() {
+        return getDurationMinutes() / 60.0;
     }
     
-    public double getDurationInHours() {
-        java.time.Duration duration = java.time.Duration.between(startTime, endTime);
-        return duration.toHours();
+    // Hours of work for a share of this task at the given load percentage
+    double getEffortHours(int loadPercentage) {
+        return getDurationMinutes() * loadPercentage / 6000.0;
     }
     
     public boolean overlapsWith(Task other) {
-        return startTime.isBefore(other.endTime) && other.startTime.isBefore(endTime);
+        return getStartMinute() < other.getEndMinute() && other.getStartMinute() < getEndMinute();
+    }
+    
+    // Minutes since 1970-01-01T00:00, the unit used by snapshots and time indexes
+    static long toEpochMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+    
+    static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
     }
     
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Task)) return false;
         Task task = (Task) o;
         return id == task.id;
     }
@@ -370,7 +771,7 @@ class Task {
     
     @Override
     public String toString() {
-        return String.format("Task %d: %s (%s to %s)", id, title, startTime, endTime);
+        return String.format("Task %d: %s (%s to %s)", id, getTitle(), getStartTime(), getEndTime());
     }
 }
 
@@ -392,15 +793,14 @@ class Resource {
     }
     
     public double calculateTotalEffort(Map<Integer, Task> tasks) {
-        return allocations.entrySet().stream()
-            .mapToDouble(entry -> {
-                Task task = tasks.get(entry.getKey());
-                if (task != null) {
-                    return task.getDurationInHours() * (entry.getValue() / 100.0);
-                }
-                return 0;
-            })
-            .sum();
+        double total = 0;
+        for (Map.Entry<Integer, Integer> entry : allocations.entrySet()) {
+            Task task = tasks.get(entry.getKey());
+            if (task != null) {
+                total += task.getEffortHours(entry.getValue());
+            }
+        }
+        return total;
     }
     
     @Override
@@ -439,7 +839,7 @@ class Allocation {
     public int getLoadPercentage() { return loadPercentage; }
     
     public double getEffortHours() {
-        return task.getDurationInHours() * (loadPercentage / 100.0);
+        return task.getEffortHours(loadPercentage);
     }
     
     @Override
@@ -3,20 +3,46 @@ package GUI;
 import javax.swing.*;
 import java.awt.*;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 public class ProjectPlanningGUI extends JFrame {
+    private static final String SNAPSHOT_FILE = "project.ppsnap";
+
+    // Open projects; the shown one is project, held under projectName
+    private final ProjectWorkspace workspace = new ProjectWorkspace();
     private Project project;
+    private String projectName = "My Project";
     private JTable taskTable;
     private TaskTableModel taskTableModel;
     private JTextField projectNameField;
+    private JComboBox<String> workspaceBox;
+    private boolean updatingWorkspaceBox;
     private JTextArea analysisArea;
+    private JPanel toolbarPanel;
+    private JPanel loadPanel;
+    private JLabel loadLabel;
+    private JProgressBar loadProgress;
+    private JButton loadCancelButton;
+    private SwingWorker<Project, Void> loadWorker;
+    private JToggleButton watchButton;
+    private PlanFileWatcher watcher;
+    private StatsDialog statsDialog;
+
+    // Work that loadInBackground runs off the EDT; returns the project to show, or null to keep the current one
+    private interface ProjectLoad {
+        Project load(PlanFileParser.ProgressListener progress) throws Exception;
+    }
 
     public ProjectPlanningGUI() {
-        this.project = new Project();
+        this.project = workspace.put(projectName, new Project());
         initializeUI();
         
         // Try to auto-load data files
@@ -33,7 +59,7 @@ public class ProjectPlanningGUI extends JFrame {
         JPanel mainPanel = new JPanel(new BorderLayout());
 
         // Create toolbar with ALL the required buttons
-        JPanel toolbarPanel = createToolbarPanel();
+        toolbarPanel = createToolbarPanel();
         mainPanel.add(toolbarPanel, BorderLayout.NORTH);
 
         // Create project info panel
@@ -61,6 +87,31 @@ public class ProjectPlanningGUI extends JFrame {
         mainPanel.add(centerSplitPane, BorderLayout.SOUTH);
 
         add(mainPanel);
+
+        // Load progress, only shown while a file is being loaded
+        loadPanel = createLoadPanel();
+        loadPanel.setVisible(false);
+        add(loadPanel, BorderLayout.SOUTH);
+    }
+
+    private JPanel createLoadPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        panel.setBorder(BorderFactory.createEmptyBorder(2, 5, 2, 5));
+
+        loadLabel = new JLabel();
+        loadProgress = new JProgressBar(0, 100);
+        loadProgress.setStringPainted(true);
+        loadCancelButton = new JButton("Cancel");
+        loadCancelButton.addActionListener(e -> {
+            if (loadWorker != null) {
+                loadWorker.cancel(false);
+            }
+        });
+
+        panel.add(loadLabel);
+        panel.add(loadProgress);
+        panel.add(loadCancelButton);
+        return panel;
     }
 
     private JPanel createToolbarPanel() {
@@ -76,7 +127,10 @@ public class ProjectPlanningGUI extends JFrame {
         JButton analyzeButton = new JButton("Analyze");
         JButton visualizeButton = new JButton("Visualize");
         JButton saveButton = new JButton("Save");
+        JButton openButton = new JButton("Open");
         JButton closeButton = new JButton("Close");
+        watchButton = new JToggleButton("Watch Files");
+        JButton statsButton = new JButton("Stats");
 
         // Style the NEW button to make it stand out (red background)
         newButton.setBackground(new Color(220, 80, 60));
@@ -89,11 +143,14 @@ public class ProjectPlanningGUI extends JFrame {
         addTaskButton.addActionListener(e -> addNewTask());
         addResourceButton.addActionListener(e -> addNewResource());
         saveButton.addActionListener(e -> saveProject());
+        openButton.addActionListener(e -> openProject());
         closeButton.addActionListener(e -> closeProject());
+        watchButton.addActionListener(e -> updateWatcher());
         uploadTasksButton.addActionListener(e -> uploadTasksFile());
         uploadResourcesButton.addActionListener(e -> uploadResourcesFile());
         analyzeButton.addActionListener(e -> showAnalysisDialog());
         visualizeButton.addActionListener(e -> showVisualization());
+        statsButton.addActionListener(e -> showStats());
 
         // Add buttons to toolbar in the specified order
         toolbarPanel.add(newButton);
@@ -112,7 +169,13 @@ public class ProjectPlanningGUI extends JFrame {
         toolbarPanel.add(Box.createHorizontalStrut(10)); // Spacing
         toolbarPanel.add(saveButton);
         toolbarPanel.add(Box.createHorizontalStrut(5)); // Spacing
+        toolbarPanel.add(openButton);
+        toolbarPanel.add(Box.createHorizontalStrut(5)); // Spacing
         toolbarPanel.add(closeButton);
+        toolbarPanel.add(Box.createHorizontalStrut(10)); // Spacing
+        toolbarPanel.add(watchButton);
+        toolbarPanel.add(Box.createHorizontalStrut(10)); // Spacing
+        toolbarPanel.add(statsButton);
 
         return toolbarPanel;
     }
@@ -122,23 +185,82 @@ public class ProjectPlanningGUI extends JFrame {
         panel.setBorder(BorderFactory.createTitledBorder("Project Information"));
 
         panel.add(new JLabel("Project:"));
-        projectNameField = new JTextField("My Project", 20);
+        projectNameField = new JTextField(projectName, 20);
+        // Enter renames the shown project
+        projectNameField.addActionListener(e -> renameProject());
         panel.add(projectNameField);
 
+        panel.add(new JLabel("Workspace:"));
+        workspaceBox = new JComboBox<>();
+        workspaceBox.addActionListener(e -> {
+            String selected = (String) workspaceBox.getSelectedItem();
+            if (!updatingWorkspaceBox && selected != null && !selected.equals(projectName)) {
+                switchProject(selected);
+            }
+        });
+        panel.add(workspaceBox);
+        updateWorkspaceBox();
+
         return panel;
     }
 
+    // Lists the workspace projects with the shown one selected
+    private void updateWorkspaceBox() {
+        updatingWorkspaceBox = true;
+        try {
+            workspaceBox.removeAllItems();
+            for (String name : workspace.getNames()) {
+                workspaceBox.addItem(name);
+            }
+            workspaceBox.setSelectedItem(projectName);
+        } finally {
+            updatingWorkspaceBox = false;
+        }
+        projectNameField.setText(projectName);
+    }
+
+    private void renameProject() {
+        String newName = projectNameField.getText().trim();
+        if (newName.isEmpty() || newName.equals(projectName)) {
+            projectNameField.setText(projectName);
+            return;
+        }
+        if (workspace.contains(newName)) {
+            JOptionPane.showMessageDialog(this, 
+                "A project named " + newName + " is already open.", 
+                "Rename Project", JOptionPane.WARNING_MESSAGE);
+            projectNameField.setText(projectName);
+            return;
+        }
+        workspace.rename(projectName, newName);
+        projectName = newName;
+        updateWorkspaceBox();
+    }
+
+    // Shows another workspace project; one that was evicted is read back from its spill file
+    private void switchProject(String name) {
+        String description = (workspace.isResident(name) ? "Switching to " : "Restoring ") + name + "...";
+        // The entry keeps the project's source files for Watch Files
+        loadInBackground(name, description,
+            progress -> workspace.activate(name),
+            loaded -> { },
+            ex -> JOptionPane.showMessageDialog(this, 
+                "Error restoring project " + name + ": " + ex.getMessage(), 
+                "Error", JOptionPane.ERROR_MESSAGE));
+    }
+
+    // The current project stays open in the workspace
     private void newProject() {
-        int result = JOptionPane.showConfirmDialog(this, 
-            "Are you sure you want to create a new project? This will clear all tasks and resources.", 
-            "New Project", JOptionPane.YES_NO_OPTION);
+        String name = JOptionPane.showInputDialog(this, 
+            "Name of the new project:", workspace.uniqueName("New Project"));
         
-        if (result == JOptionPane.YES_OPTION) {
-            project = new Project();
-            projectNameField.setText("New Project");
-            taskTableModel.setProject(project);
-            analysisArea.setText("");
-            JOptionPane.showMessageDialog(this, "New project created. All tasks and resources cleared.");
+        if (name != null && !name.trim().isEmpty()) {
+            loadInBackground(workspace.uniqueName(name.trim()), "Creating project...",
+                progress -> new Project(),
+                loaded -> JOptionPane.showMessageDialog(this, "New project created."),
+                ex -> JOptionPane.showMessageDialog(this, 
+                    "Error creating project: " + ex.getMessage(), 
+                    "Error", JOptionPane.ERROR_MESSAGE));
         }
     }
 
@@ -204,15 +326,7 @@ public class ProjectPlanningGUI extends JFrame {
                 
                 // Create and add task
                 Task newTask = new Task(id, title, startTime, endTime, dependencies);
-                project.getTasks().put(id, newTask);
-                
-                // Link dependencies if they exist
-                for (int depId : dependencies) {
-                    Task depTask = project.getTasks().get(depId);
-                    if (depTask != null) {
-                        newTask.addDependencyTask(depTask);
-                    }
-                }
+                project.addTask(newTask);
                 
                 taskTableModel.fireTableDataChanged();
                 updateAnalysisArea();
@@ -285,7 +399,7 @@ public class ProjectPlanningGUI extends JFrame {
                     }
                 }
                 
-                project.getResources().put(name, newResource);
+                project.addResource(newResource);
                 taskTableModel.fireTableDataChanged();
                 updateAnalysisArea();
                 addResourceDialog.dispose();
@@ -319,15 +433,79 @@ public class ProjectPlanningGUI extends JFrame {
     }
 
     private void saveProject() {
-        JOptionPane.showMessageDialog(this, "Project saved successfully.");
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setCurrentDirectory(new File("."));
+        fileChooser.setSelectedFile(new File(SNAPSHOT_FILE));
+        int result = fileChooser.showSaveDialog(this);
+        if (result == JFileChooser.APPROVE_OPTION) {
+            File file = fileChooser.getSelectedFile();
+            saveInBackground(project, file.toPath());
+        }
+    }
+
+    // Writes on a SwingWorker like the loads do. The save reads one snapshot, so
+    // the watcher may keep applying deltas meanwhile; a save cannot be cancelled.
+    private void saveInBackground(Project current, Path path) {
+        SwingWorker<Void, Void> saveWorker = new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                SnapshotFile.save(current, path);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                setLoading(false, null);
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(ProjectPlanningGUI.this, "Project saved successfully.");
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(ProjectPlanningGUI.this, 
+                        "Error saving project: " + e.getCause().getMessage(), 
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        setLoading(true, "Saving " + path.getFileName() + "...");
+        loadCancelButton.setEnabled(false);
+        saveWorker.execute();
     }
 
+    private void openProject() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setCurrentDirectory(new File("."));
+        int result = fileChooser.showOpenDialog(this);
+        if (result == JFileChooser.APPROVE_OPTION) {
+            File file = fileChooser.getSelectedFile();
+            // Opened next to the projects already in the workspace
+            loadInBackground(workspace.uniqueName(file.getName()), "Opening " + file.getName() + "...",
+                progress -> SnapshotFile.load(file.toPath()),
+                loaded -> JOptionPane.showMessageDialog(this, 
+                    "Project opened successfully. Loaded " + loaded.getTaskCount() + " tasks."),
+                ex -> JOptionPane.showMessageDialog(this, 
+                    "Error opening project: " + ex.getMessage(), 
+                    "Error", JOptionPane.ERROR_MESSAGE));
+        }
+    }
+
+    // Drops the shown project from the workspace and shows the one used before it
     private void closeProject() {
         int result = JOptionPane.showConfirmDialog(this, 
             "Are you sure you want to close the project?", "Close Project", 
             JOptionPane.YES_NO_OPTION);
-        if (result == JOptionPane.YES_OPTION) {
-            newProject();
+        if (result != JOptionPane.YES_OPTION) return;
+
+        String next = workspace.mostRecentOther(projectName);
+        workspace.remove(projectName);
+        if (next != null) {
+            switchProject(next);
+        } else {
+            loadInBackground("My Project", "Closing project...",
+                progress -> new Project(),
+                loaded -> { },
+                ex -> { });
         }
     }
 
@@ -337,17 +515,22 @@ public class ProjectPlanningGUI extends JFrame {
         int result = fileChooser.showOpenDialog(this);
         if (result == JFileChooser.APPROVE_OPTION) {
             File file = fileChooser.getSelectedFile();
-            try {
-                project.loadTasks(file.getAbsolutePath());
-                taskTableModel.fireTableDataChanged();
-                updateAnalysisArea();
-                JOptionPane.showMessageDialog(this, 
-                    "Tasks uploaded successfully. Loaded " + project.getTasks().size() + " tasks.");
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, 
+            Project current = project;
+            // Written by the worker, read in done() after it has finished
+            PlanFileParser.FileMark[] mark = new PlanFileParser.FileMark[1];
+            loadInBackground(projectName, "Loading " + file.getName() + "...",
+                progress -> {
+                    mark[0] = current.loadTasks(file.getAbsolutePath(), progress);
+                    return current;
+                },
+                loaded -> {
+                    workspace.get(projectName).setTasksSource(file.toPath(), mark[0]);
+                    JOptionPane.showMessageDialog(this, 
+                        "Tasks uploaded successfully. Loaded " + loaded.getTaskCount() + " tasks.");
+                },
+                ex -> JOptionPane.showMessageDialog(this, 
                     "Error uploading tasks: " + ex.getMessage(), 
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            }
+                    "Error", JOptionPane.ERROR_MESSAGE));
         }
     }
 
@@ -357,18 +540,177 @@ public class ProjectPlanningGUI extends JFrame {
         int result = fileChooser.showOpenDialog(this);
         if (result == JFileChooser.APPROVE_OPTION) {
             File file = fileChooser.getSelectedFile();
-            try {
-                project.loadResources(file.getAbsolutePath());
-                taskTableModel.fireTableDataChanged();
-                updateAnalysisArea();
-                JOptionPane.showMessageDialog(this, 
-                    "Resources uploaded successfully. Loaded " + project.getResources().size() + " resources.");
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, 
+            Project current = project;
+            // Written by the worker, read in done() after it has finished
+            PlanFileParser.FileMark[] mark = new PlanFileParser.FileMark[1];
+            loadInBackground(projectName, "Loading " + file.getName() + "...",
+                progress -> {
+                    mark[0] = current.loadResources(file.getAbsolutePath(), progress);
+                    return current;
+                },
+                loaded -> {
+                    workspace.get(projectName).setResourcesSource(file.toPath(), mark[0]);
+                    JOptionPane.showMessageDialog(this, 
+                        "Resources uploaded successfully. Loaded " + loaded.getResources().size() + " resources.");
+                },
+                ex -> JOptionPane.showMessageDialog(this, 
                     "Error uploading resources: " + ex.getMessage(), 
-                    "Error", JOptionPane.ERROR_MESSAGE);
+                    "Error", JOptionPane.ERROR_MESSAGE));
+        }
+    }
+
+    // Runs the load on a SwingWorker so the window stays responsive. The result
+    // replaces the shown project in one step on the EDT. Uploads load into the shown
+    // project itself, without a copy: Project parses first and then applies the whole
+    // file in one publish, and a cancel or parse error can only come during parsing,
+    // so a cancelled or failed load leaves the project as it was.
+    // The result is stored in the workspace under name by the worker, so evicting
+    // other projects to disk happens off the EDT too.
+    private void loadInBackground(String name, String description, ProjectLoad load,
+                                  Consumer<Project> onLoaded, Consumer<Exception> onFailed) {
+        boolean added = !workspace.contains(name);
+        loadWorker = new SwingWorker<Project, Void>() {
+            @Override
+            protected Project doInBackground() throws Exception {
+                Project loaded = load.load((bytesRead, totalBytes) -> {
+                    if (isCancelled()) {
+                        throw new CancellationException();
+                    }
+                    setProgress(totalBytes == 0 ? 100 : (int) Math.min(100, bytesRead * 100 / totalBytes));
+                });
+                return loaded == null ? null : workspace.put(name, loaded);
+            }
+
+            @Override
+            protected void done() {
+                loadWorker = null;
+                setLoading(false, null);
+                Project loaded = null;
+                try {
+                    loaded = isCancelled() ? null : get();
+                    if (loaded != null) {
+                        project = loaded;
+                        projectName = name;
+                        taskTableModel.setProject(loaded);
+                        updateAnalysisArea();
+                        onLoaded.accept(loaded);
+                    }
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    onFailed.accept(cause instanceof Exception ? (Exception) cause : e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    if (loaded == null) {
+                        // A load cancelled after it was stored may have replaced or evicted the shown project
+                        if (added && !name.equals(projectName)) {
+                            workspace.remove(name);
+                        }
+                        workspace.put(projectName, project);
+                        // An upload cancelled after parsing has still been applied
+                        taskTableModel.fireTableDataChanged();
+                        updateAnalysisArea();
+                    }
+                    updateWorkspaceBox();
+                    updateWatcher();
+                }
+            }
+        };
+        loadWorker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                loadProgress.setIndeterminate(false);
+                loadProgress.setValue((Integer) e.getNewValue());
             }
+        });
+        // Deltas must not reach the project while the worker reads it
+        stopWatcher();
+        setLoading(true, description);
+        loadWorker.execute();
+    }
+
+    // Follows the source files while Watch Files is on and appends their new lines to the shown project
+    private void updateWatcher() {
+        stopWatcher();
+        if (!watchButton.isSelected() || loadWorker != null) return;
+        ProjectWorkspace.Entry entry = workspace.get(projectName);
+        if (entry == null || entry.getTasksSource() == null && entry.getResourcesSource() == null) {
+            watchButton.setSelected(false);
+            JOptionPane.showMessageDialog(this, 
+                "Load tasks or resources from a text file first.", 
+                "Watch Files", JOptionPane.WARNING_MESSAGE);
+            return;
         }
+
+        // Deltas go to the project shown now, and only while this watcher is the current one
+        Project target = project;
+        // Set below, before any delta can reach the EDT
+        PlanFileWatcher[] source = new PlanFileWatcher[1];
+        try {
+            // Starts where the load stopped reading, so lines appended while nothing watched are not lost
+            watcher = new PlanFileWatcher(entry.getTasksSource(), entry.getTasksMark(),
+                    entry.getResourcesSource(), entry.getResourcesMark(), new PlanFileWatcher.DeltaListener() {
+                @Override
+                public void tasksAppended(List<Task> tasks, PlanFileParser.FileMark mark) {
+                    SwingUtilities.invokeLater(() -> applyDelta(source[0], () -> {
+                        target.applyTaskDelta(tasks);
+                        entry.setTasksMark(mark);
+                    }));
+                }
+
+                @Override
+                public void resourcesAppended(List<Resource> resources, PlanFileParser.FileMark mark) {
+                    SwingUtilities.invokeLater(() -> applyDelta(source[0], () -> {
+                        target.applyResourceDelta(resources);
+                        entry.setResourcesMark(mark);
+                    }));
+                }
+
+                @Override
+                public void lineFailed(FileParseException error) {
+                    System.err.println("Skipped appended line: " + error.getMessage());
+                }
+            });
+            source[0] = watcher;
+        } catch (IOException e) {
+            watchButton.setSelected(false);
+            JOptionPane.showMessageDialog(this, 
+                "Error watching files: " + e.getMessage(), 
+                "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void applyDelta(PlanFileWatcher source, Runnable delta) {
+        // A delta queued before its watcher was stopped or replaced may belong to another project
+        if (source == null || source != watcher) return;
+        delta.run();
+        taskTableModel.fireTableDataChanged();
+        updateAnalysisArea();
+    }
+
+    private void stopWatcher() {
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                System.err.println("Failed to stop watching files: " + e.getMessage());
+            }
+            watcher = null;
+        }
+    }
+
+    private void setLoading(boolean loading, String description) {
+        for (Component component : toolbarPanel.getComponents()) {
+            component.setEnabled(!loading);
+        }
+        workspaceBox.setEnabled(!loading);
+        projectNameField.setEnabled(!loading);
+        loadCancelButton.setEnabled(true);
+        loadLabel.setText(description);
+        // Indeterminate until the first bytes are counted; snapshots report none
+        loadProgress.setIndeterminate(loading);
+        loadProgress.setValue(0);
+        loadPanel.setVisible(loading);
+        loadPanel.revalidate();
     }
 
     private void showAnalysisDialog() {
@@ -400,6 +742,15 @@ public class ProjectPlanningGUI extends JFrame {
         dialog.setVisible(true);
     }
     
+    // One stats window at a time; the button brings it back to the front
+    private void showStats() {
+        if (statsDialog == null || !statsDialog.isDisplayable()) {
+            statsDialog = new StatsDialog(this);
+        }
+        statsDialog.setVisible(true);
+        statsDialog.toFront();
+    }
+    
     private void updateAnalysisArea() {
         StringBuilder analysis = new StringBuilder();
         analysis.append("PROJECT OVERVIEW\n");
@@ -420,41 +771,72 @@ public class ProjectPlanningGUI extends JFrame {
     }
     
     private void autoLoadDataFiles() {
-        String[] possiblePaths = {
-            "tasks.txt", "resources.txt",
-            "../tasks.txt", "../resources.txt"
-        };
-        
-        boolean tasksLoaded = false;
-        boolean resourcesLoaded = false;
-        
-        for (String path : possiblePaths) {
-            File file = new File(path);
-            if (file.exists() && path.contains("tasks") && !tasksLoaded) {
+        // Written by the worker, read in done() after it has finished
+        Path[] sources = new Path[2];
+        PlanFileParser.FileMark[] marks = new PlanFileParser.FileMark[2];
+        loadInBackground(projectName, "Loading project data...", progress -> {
+            // A snapshot saved after the last edit of the text files is restored without re-parsing
+            File snapshot = new File(SNAPSHOT_FILE);
+            if (snapshot.exists()
+                    && snapshot.lastModified() >= dataFile("tasks.txt").lastModified()
+                    && snapshot.lastModified() >= dataFile("resources.txt").lastModified()) {
                 try {
-                    project.loadTasks(path);
-                    tasksLoaded = true;
-                    System.out.println("Auto-loaded tasks from: " + path);
-                } catch (Exception e) {
-                    System.err.println("Failed to auto-load tasks from: " + path);
+                    Project loaded = SnapshotFile.load(snapshot.toPath());
+                    System.out.println("Auto-loaded project snapshot from: " + SNAPSHOT_FILE);
+                    return loaded;
+                } catch (FileParseException e) {
+                    System.err.println("Failed to auto-load project snapshot from: " + SNAPSHOT_FILE);
                 }
             }
             
-            if (file.exists() && path.contains("resources") && !resourcesLoaded) {
-                try {
-                    project.loadResources(path);
-                    resourcesLoaded = true;
-                    System.out.println("Auto-loaded resources from: " + path);
-                } catch (Exception e) {
-                    System.err.println("Failed to auto-load resources from: " + path);
+            String[] possiblePaths = {
+                "tasks.txt", "resources.txt",
+                "../tasks.txt", "../resources.txt"
+            };
+            
+            Project loaded = new Project();
+            boolean tasksLoaded = false;
+            boolean resourcesLoaded = false;
+            
+            for (String path : possiblePaths) {
+                File file = new File(path);
+                if (file.exists() && path.contains("tasks") && !tasksLoaded) {
+                    try {
+                        marks[0] = loaded.loadTasks(path, progress);
+                        tasksLoaded = true;
+                        sources[0] = file.toPath();
+                        System.out.println("Auto-loaded tasks from: " + path);
+                    } catch (FileParseException e) {
+                        System.err.println("Failed to auto-load tasks from: " + path);
+                    }
+                }
+                
+                if (file.exists() && path.contains("resources") && !resourcesLoaded) {
+                    try {
+                        marks[1] = loaded.loadResources(path, progress);
+                        resourcesLoaded = true;
+                        sources[1] = file.toPath();
+                        System.out.println("Auto-loaded resources from: " + path);
+                    } catch (FileParseException e) {
+                        System.err.println("Failed to auto-load resources from: " + path);
+                    }
                 }
             }
-        }
-        
-        if (tasksLoaded || resourcesLoaded) {
-            taskTableModel.fireTableDataChanged();
-            updateAnalysisArea();
-        }
+            
+            return tasksLoaded || resourcesLoaded ? loaded : null;
+        }, loaded -> {
+            // A restored snapshot has no text sources to follow
+            ProjectWorkspace.Entry entry = workspace.get(projectName);
+            if (sources[0] != null) entry.setTasksSource(sources[0], marks[0]);
+            if (sources[1] != null) entry.setResourcesSource(sources[1], marks[1]);
+        }, e -> System.err.println("Failed to auto-load project data: " + e.getMessage()));
+    }
+
+    // The copy of a data file the auto-load reads first: the working directory's, else the parent's
+    private static File dataFile(String name) {
+        File file = new File(name);
+        File parent = new File("..", name);
+        return !file.exists() && parent.exists() ? parent : file;
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,320 @@
+package GUI;
+
+import java.time.LocalDateTime;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+// One published version of a Project.
+//
+// Every edit of a project publishes a new snapshot, so a snapshot never
+// changes and can be read and analyzed on any thread while the project is
+// being edited. Snapshots share their maps with the versions before and after
+// them (see PersistentMap and TaskStore), so taking one costs O(1).
+//
+// Tasks are immutable and only name their dependencies by id; analyses here
+// resolve the ids against this snapshot's tasks.
+class ProjectSnapshot {
+    private static final int[] NO_CODES = new int[0];
+
+    private final int version;
+    private final Map<Integer, Task> tasks;
+    private final Map<String, Resource> resources;
+    private final Map<String, List<Allocation>> allocationsByResource;
+    private final int allocationCount;
+    private final Map<Integer, int[]> teams;   // resource name codes
+    private final StringDictionary dictionary;
+    private final Map<String, Double> effort;
+    private final boolean empty;
+    private final long minStart;
+    private final long maxEnd;
+    private volatile IntervalIndex intervalIndex;
+    private volatile ReachabilityIndex reachabilityIndex;
+
+    // addedTasks lists the tasks added since the previous snapshot, or is null when
+    // tasks were also replaced or removed
+    ProjectSnapshot(int version, Map<Integer, Task> tasks, Map<String, Resource> resources,
+                    Map<String, List<Allocation>> allocationsByResource, int allocationCount,
+                    Map<Integer, int[]> teams, StringDictionary dictionary, ProjectAnalytics analytics,
+                    ProjectSnapshot previous, List<Task> addedTasks) {
+        this.version = version;
+        this.tasks = tasks;
+        this.resources = resources;
+        this.allocationsByResource = allocationsByResource;
+        this.allocationCount = allocationCount;
+        this.teams = teams;
+        this.dictionary = dictionary;
+        this.effort = analytics.getResourceEffort();
+        this.empty = analytics.isEmpty();
+        this.minStart = empty ? 0 : analytics.getMinStart();
+        this.maxEnd = empty ? 0 : analytics.getMaxEnd();
+        // Edits that leave the tasks alone keep the indexes; added tasks extend the reachability index
+        if (previous != null && previous.tasks == tasks) {
+            this.intervalIndex = previous.intervalIndex;
+            this.reachabilityIndex = previous.reachabilityIndex;
+        } else if (previous != null && addedTasks != null && previous.reachabilityIndex != null) {
+            this.reachabilityIndex = previous.reachabilityIndex.withTasks(addedTasks);
+        }
+    }
+
+    // The project's modification count when this snapshot was published
+    int getVersion() { return version; }
+
+    public LocalDateTime getProjectCompletionTime() {
+        return empty ? null : Task.fromEpochMinute(maxEnd);
+    }
+
+    public double getProjectDurationInHours() {
+        return empty ? 0 : (maxEnd - minStart) / 60.0;
+    }
+
+    // Dependencies of the task as of this snapshot: ids that resolve here, without duplicates
+    List<Task> getDependencyTasks(Task task) {
+        List<Task> dependencyTasks = new ArrayList<>(task.getDependencyCount());
+        for (int d = 0; d < task.getDependencyCount(); d++) {
+            Task depTask = tasks.get(task.getDependencyId(d));
+            if (depTask != null && !dependencyTasks.contains(depTask)) {
+                dependencyTasks.add(depTask);
+            }
+        }
+        return dependencyTasks;
+    }
+
+    public List<String> findOverlappingTasks() {
+        List<String> overlaps = new ArrayList<>();
+
+        forEachOverlappingDependency((task, depTask) -> overlaps.add(String.format(
+            "Task %d ('%s') overlaps with dependency Task %d ('%s')",
+            task.getId(), task.getTitle(), depTask.getId(), depTask.getTitle()
+        )));
+
+        return overlaps;
+    }
+
+    // Streams each (task, dependency) pair whose times overlap, so reports need not hold them all
+    void forEachOverlappingDependency(BiConsumer<Task, Task> consumer) {
+        try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.OVERLAPS, false)) {
+            long pairs = 0;
+            for (Task task : tasks.values()) {
+                for (Task depTask : getDependencyTasks(task)) {
+                    if (task.overlapsWith(depTask)) {
+                        consumer.accept(task, depTask);
+                        pairs++;
+                    }
+                }
+            }
+            span.setItems(pairs);
+        }
+    }
+
+    // Plan-wide overlap queries are answered from an interval index over task start/end times,
+    // built on first use; two threads racing here both build the same index
+    IntervalIndex getIntervalIndex() {
+        IntervalIndex index = intervalIndex;
+        if (index == null) {
+            try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.INTERVAL_INDEX, false)) {
+                index = new IntervalIndex(tasks.values());
+                span.setItems(tasks.size());
+            }
+            intervalIndex = index;
+        }
+        return index;
+    }
+
+    public List<Task> findTasksInWindow(LocalDateTime from, LocalDateTime to) {
+        IntervalIndex index = getIntervalIndex();
+        try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.TIME_WINDOW, false)) {
+            List<Task> active = index.findOverlapping(Task.toEpochMinute(from), Task.toEpochMinute(to));
+            span.setItems(active.size());
+            return active;
+        }
+    }
+
+    public List<String> findAllOverlappingTaskPairs() {
+        List<String> overlaps = new ArrayList<>();
+
+        forEachOverlappingPair((first, second) -> overlaps.add(String.format(
+            "Task %d ('%s') overlaps with Task %d ('%s')",
+            first.getId(), first.getTitle(), second.getId(), second.getTitle()
+        )));
+
+        return overlaps;
+    }
+
+    // Streams every pair of tasks whose times overlap, earlier start first
+    void forEachOverlappingPair(BiConsumer<Task, Task> consumer) {
+        IntervalIndex index = getIntervalIndex();
+        try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.ALL_OVERLAPS, false)) {
+            long[] pairs = new long[1];
+            index.forEachOverlappingPair((first, second) -> {
+                consumer.accept(first, second);
+                pairs[0]++;
+            });
+            span.setItems(pairs[0]);
+        }
+    }
+
+    // Task ids in ascending order, the order the per-task report sections use
+    int[] sortedTaskIds() {
+        int[] ids = new int[tasks.size()];
+        int i = 0;
+        for (Integer id : tasks.keySet()) {
+            ids[i++] = id;
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    // Transitive dependency queries go through a reachability index, built on first use
+    ReachabilityIndex getReachabilityIndex() {
+        ReachabilityIndex index = reachabilityIndex;
+        if (index == null) {
+            try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.REACHABILITY_INDEX, false)) {
+                index = new ReachabilityIndex(tasks.values());
+                span.setItems(tasks.size());
+            }
+            reachabilityIndex = index;
+        }
+        return index;
+    }
+
+    // Every task the given task waits on, directly or through other tasks, ordered by id
+    public List<Task> findUpstreamTasks(int taskId) {
+        ReachabilityIndex index = getReachabilityIndex();
+        try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.IMPACT, false)) {
+            List<Task> upstream = tasksById(index.upstreamOf(taskId));
+            span.setItems(upstream.size());
+            return upstream;
+        }
+    }
+
+    // Every task that waits on the given task, directly or not: what slips when it slips
+    public List<Task> findDownstreamTasks(int taskId) {
+        ReachabilityIndex index = getReachabilityIndex();
+        try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.IMPACT, false)) {
+            List<Task> downstream = tasksById(index.downstreamOf(taskId));
+            span.setItems(downstream.size());
+            return downstream;
+        }
+    }
+
+    // Whether the task waits on upstreamId, directly or through other tasks
+    public boolean isUpstream(int upstreamId, int taskId) {
+        return getReachabilityIndex().isUpstream(upstreamId, taskId);
+    }
+
+    private List<Task> tasksById(int[] ids) {
+        List<Task> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(tasks.get(id));
+        }
+        return result;
+    }
+
+    // A read-only view over the task's team codes; names resolve to the dictionary's shared instances
+    public Set<String> getTeamForTask(int taskId) {
+        int[] team = teams.get(taskId);
+        return team == null ? Collections.emptySet() : dictionary.asSet(team);
+    }
+
+    // Dictionary codes of the task's team, in allocation order; shared, callers must not modify it
+    int[] getTeamCodes(int taskId) {
+        int[] team = teams.get(taskId);
+        return team == null ? NO_CODES : team;
+    }
+
+    // Titles and resource names behind the codes handed out here
+    StringDictionary getDictionary() { return dictionary; }
+
+    // Earliest/latest schedule and float per task; throws IllegalStateException on a dependency cycle
+    public CriticalPathAnalyzer.Result analyzeCriticalPath() {
+        try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.CRITICAL_PATH, false)) {
+            CriticalPathAnalyzer.Result cpm = CriticalPathAnalyzer.analyze(tasks.values());
+            span.setItems(cpm.size());
+            return cpm;
+        }
+    }
+
+    // Finish date distribution over the given number of Monte Carlo trials; the same plan and
+    // seed give the same numbers. Throws IllegalStateException on a dependency cycle or no tasks.
+    public ScheduleSimulator.Result simulateSchedule(int trials, long seed) {
+        try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.SIMULATION, true)) {
+            ScheduleSimulator.Result risk = ScheduleSimulator.simulate(tasks.values(), trials, seed);
+            span.setItems(risk.getTrials());
+            return risk;
+        }
+    }
+
+    // Groups of tasks that (transitively) depend on each other, ordered by smallest task id
+    public List<DependencyCycleDetector.Cycle> findDependencyCycles() {
+        try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.CYCLES, false)) {
+            List<DependencyCycleDetector.Cycle> cycles = DependencyCycleDetector.findCycles(tasks.values());
+            span.setItems(cycles.size());
+            return cycles;
+        }
+    }
+
+    // Intervals where a resource's summed load across overlapping tasks exceeds 100%
+    public List<OverAllocationDetector.OverAllocation> findOverAllocations() {
+        try (PlanMetrics.Span span = PlanMetrics.start(PlanMetrics.Stage.OVER_ALLOCATION, false)) {
+            List<OverAllocationDetector.OverAllocation> overAllocations =
+                OverAllocationDetector.detect(getAllocations());
+            span.setItems(overAllocations.size());
+            return overAllocations;
+        }
+    }
+
+    public Map<String, Double> getResourceEffort() { return effort; }
+
+    // The maps and collections below are read-only and not copied
+    public Map<Integer, Task> getTasks() { return tasks; }
+    public int getTaskCount() { return tasks.size(); }
+    public Collection<Task> tasks() { return tasks.values(); }
+    public Map<String, Resource> getResources() { return resources; }
+
+    // Grouped by resource; in columnar projects each allocation is re-pointed at this snapshot's task view
+    public Collection<Allocation> getAllocations() {
+        boolean rebind = tasks instanceof TaskStore;
+        return new AbstractCollection<Allocation>() {
+            @Override
+            public Iterator<Allocation> iterator() {
+                Iterator<List<Allocation>> groups = allocationsByResource.values().iterator();
+                return new Iterator<Allocation>() {
+                    private List<Allocation> group = Collections.emptyList();
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (next == group.size() && groups.hasNext()) {
+                            group = groups.next();
+                            next = 0;
+                        }
+                        return next < group.size();
+                    }
+
+                    @Override
+                    public Allocation next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        Allocation allocation = group.get(next++);
+                        if (!rebind) return allocation;
+                        return new Allocation(allocation.getResource(),
+                            tasks.get(allocation.getTask().getId()), allocation.getLoadPercentage());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return allocationCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,290 @@
+package GUI;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+// Several open projects, of which only the most recently used stay on the heap.
+//
+// Every project is held under a name. When the estimated size of the projects in
+// memory goes over the budget, the least recently used ones are written to a
+// SnapshotFile in a temporary directory and dropped; activate() reads one back,
+// which takes milliseconds where re-parsing the text files takes seconds. The
+// active project is never evicted, and a project whose snapshot has not changed
+// since it was last spilled is dropped without writing it again.
+//
+// Sizes are estimated from task and allocation counts (measured heap per task
+// for each storage, and per allocation including the team index), not measured.
+// Spills and restores run on the calling thread, so the GUI calls in from its
+// load worker; all methods are synchronized.
+class ProjectWorkspace implements AutoCloseable {
+    static final long OBJECT_TASK_BYTES = 200;
+    static final long COLUMNAR_TASK_BYTES = 60;
+    static final long ALLOCATION_BYTES = 170;
+
+    // Default budget: a quarter of the maximum heap
+    static final long DEFAULT_BUDGET = Runtime.getRuntime().maxMemory() / 4;
+
+    // One named project, in memory or spilled to file
+    static final class Entry {
+        private String name;
+        private Project project;
+        private Project.TaskStorage taskStorage;
+        private Project.LoadMode loadMode;
+        private Path spillFile;
+        // The snapshot spillFile was written from; unchanged projects need no new spill
+        private ProjectSnapshot spilled;
+        private long lastUsed;
+        // Text files the project was loaded from and how far they were read, for Watch Files
+        private Path tasksSource;
+        private PlanFileParser.FileMark tasksMark;
+        private Path resourcesSource;
+        private PlanFileParser.FileMark resourcesMark;
+
+        private Entry(String name) {
+            this.name = name;
+        }
+
+        String getName() { return name; }
+
+        // The source accessors are only used on the EDT
+        Path getTasksSource() { return tasksSource; }
+        PlanFileParser.FileMark getTasksMark() { return tasksMark; }
+        Path getResourcesSource() { return resourcesSource; }
+        PlanFileParser.FileMark getResourcesMark() { return resourcesMark; }
+
+        void setTasksSource(Path source, PlanFileParser.FileMark mark) {
+            tasksSource = source;
+            tasksMark = mark;
+        }
+
+        void setResourcesSource(Path source, PlanFileParser.FileMark mark) {
+            resourcesSource = source;
+            resourcesMark = mark;
+        }
+
+        void setTasksMark(PlanFileParser.FileMark mark) { tasksMark = mark; }
+        void setResourcesMark(PlanFileParser.FileMark mark) { resourcesMark = mark; }
+    }
+
+    private final long budget;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private Path spillDirectory;
+    private Entry active;
+    private long clock;
+    private int spills;
+    private int restores;
+
+    ProjectWorkspace() {
+        this(DEFAULT_BUDGET);
+    }
+
+    ProjectWorkspace(long budget) {
+        this.budget = budget;
+    }
+
+    // Adds or replaces the named project and makes it the active one
+    synchronized Project put(String name, Project project) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            entry = new Entry(name);
+            entries.put(name, entry);
+        }
+        if (entry.project != project) {
+            deleteSpill(entry);
+            entry.project = project;
+            entry.taskStorage = project.getTaskStorage();
+            entry.loadMode = project.getLoadMode();
+        }
+        makeActive(entry);
+        return project;
+    }
+
+    // The named project, read back from its spill file if it was evicted; it becomes the active one
+    synchronized Project activate(String name) throws FileParseException {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("No project named " + name);
+        }
+        if (entry.project == null) {
+            Project project = SnapshotFile.load(entry.spillFile, entry.taskStorage);
+            project.setLoadMode(entry.loadMode);
+            entry.project = project;
+            entry.spilled = project.snapshot();
+            restores++;
+        }
+        makeActive(entry);
+        return entry.project;
+    }
+
+    synchronized Entry get(String name) {
+        return entries.get(name);
+    }
+
+    synchronized boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    // Drops the project and its spill file
+    synchronized void remove(String name) {
+        Entry entry = entries.remove(name);
+        if (entry != null) {
+            deleteSpill(entry);
+            entry.project = null;
+            if (entry == active) {
+                active = null;
+            }
+        }
+    }
+
+    // Keeps the entry's place in getNames()
+    synchronized void rename(String name, String newName) {
+        if (entries.containsKey(newName)) {
+            throw new IllegalArgumentException("A project named " + newName + " is already open");
+        }
+        List<Entry> all = new ArrayList<>(entries.values());
+        entries.clear();
+        for (Entry entry : all) {
+            if (entry.name.equals(name)) {
+                entry.name = newName;
+            }
+            entries.put(entry.name, entry);
+        }
+    }
+
+    synchronized boolean isResident(String name) {
+        Entry entry = entries.get(name);
+        return entry != null && entry.project != null;
+    }
+
+    // Names in the order the projects were opened
+    synchronized List<String> getNames() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    // The most recently used name other than the given one, or null
+    synchronized String mostRecentOther(String name) {
+        Entry best = null;
+        for (Entry entry : entries.values()) {
+            if (!entry.name.equals(name) && (best == null || entry.lastUsed > best.lastUsed)) {
+                best = entry;
+            }
+        }
+        return best == null ? null : best.name;
+    }
+
+    // name itself when it is free, otherwise name (2), name (3), ...
+    synchronized String uniqueName(String name) {
+        String unique = name;
+        for (int i = 2; entries.containsKey(unique); i++) {
+            unique = name + " (" + i + ")";
+        }
+        return unique;
+    }
+
+    synchronized long getResidentBytes() {
+        long bytes = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.project != null) {
+                bytes += estimateBytes(entry.project);
+            }
+        }
+        return bytes;
+    }
+
+    synchronized int getSpillCount() { return spills; }
+    synchronized int getRestoreCount() { return restores; }
+
+    static long estimateBytes(Project project) {
+        ProjectSnapshot snapshot = project.snapshot();
+        long taskBytes = project.getTaskStorage() == Project.TaskStorage.COLUMNAR
+            ? COLUMNAR_TASK_BYTES : OBJECT_TASK_BYTES;
+        return snapshot.getTaskCount() * taskBytes + snapshot.getAllocations().size() * ALLOCATION_BYTES;
+    }
+
+    // Deletes all spill files
+    @Override
+    public synchronized void close() {
+        for (Entry entry : entries.values()) {
+            deleteSpill(entry);
+        }
+        entries.clear();
+        active = null;
+        if (spillDirectory != null) {
+            try {
+                Files.deleteIfExists(spillDirectory);
+            } catch (IOException e) {
+                System.err.println("Failed to delete workspace directory: " + e.getMessage());
+            }
+            spillDirectory = null;
+        }
+    }
+
+    private void makeActive(Entry entry) {
+        active = entry;
+        entry.lastUsed = ++clock;
+        evict();
+    }
+
+    // Spills least recently used projects until the rest fit the budget. A project
+    // that cannot be written stays in memory rather than being lost.
+    private void evict() {
+        List<Entry> failed = new ArrayList<>();
+        long resident = getResidentBytes();
+        while (resident > budget) {
+            Entry victim = null;
+            for (Entry entry : entries.values()) {
+                if (entry.project != null && entry != active && !failed.contains(entry)
+                        && (victim == null || entry.lastUsed < victim.lastUsed)) {
+                    victim = entry;
+                }
+            }
+            if (victim == null) {
+                return;
+            }
+            try {
+                long bytes = estimateBytes(victim.project);
+                spill(victim);
+                resident -= bytes;
+            } catch (IOException e) {
+                System.err.println("Failed to spill project " + victim.name + ": " + e.getMessage());
+                failed.add(victim);
+            }
+        }
+    }
+
+    private void spill(Entry entry) throws IOException {
+        ProjectSnapshot snapshot = entry.project.snapshot();
+        if (entry.spillFile == null || entry.spilled != snapshot) {
+            if (spillDirectory == null) {
+                spillDirectory = Files.createTempDirectory("workspace");
+                spillDirectory.toFile().deleteOnExit();
+            }
+            Path file = entry.spillFile != null ? entry.spillFile
+                : Files.createTempFile(spillDirectory, "project", ".ppsnap");
+            file.toFile().deleteOnExit();
+            entry.spillFile = file;
+            // Cleared first so a failed write is never taken for a current one
+            entry.spilled = null;
+            SnapshotFile.save(entry.project, file);
+            entry.spilled = snapshot;
+            spills++;
+        }
+        entry.project = null;
+    }
+
+    private void deleteSpill(Entry entry) {
+        if (entry.spillFile != null) {
+            try {
+                Files.deleteIfExists(entry.spillFile);
+            } catch (IOException e) {
+                System.err.println("Failed to delete spill file: " + e.getMessage());
+            }
+            entry.spillFile = null;
+            entry.spilled = null;
+        }
+    }
+}
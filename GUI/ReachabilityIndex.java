@@ -0,0 +1,434 @@
+package GUI;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Transitive dependency queries: everything a task ultimately waits on, everything
+// that waits on it, and whether one task is upstream of another.
+//
+// Tasks that depend on each other in a cycle are collapsed into one component,
+// which leaves a DAG. Each component carries three labels that settle most
+// "is X upstream of Y" queries in O(1):
+//   - its level, one more than its deepest dependency, so an upstream task
+//     always sits on a lower level;
+//   - an interval [low, post] from a depth-first pass along dependency edges
+//     that covers the intervals of everything it depends on, so a task whose
+//     interval falls outside cannot be upstream;
+//   - its [pre, post] range in the spanning forest of that pass, so a task
+//     inside that range is upstream.
+// Whatever the labels leave open is settled by a search they prune.
+//
+// Tasks added later that no indexed task waits on are appended in
+// O(dependencies) without relabelling (see withTasks); any other change needs
+// a new index. Appended versions share their arrays with older versions, which
+// never look past their own component count.
+class ReachabilityIndex {
+    // Appended components beyond this (or beyond the base size) trigger a rebuild
+    private static final int MIN_APPENDED = 1024;
+
+    // Built once from the task collection; nodes are DependencyGraph positions
+    private final IntIndexMap nodeOf;            // task id -> node
+    private final int[] ids;                     // node -> task id
+    private final int[] component;               // node -> component
+    private final int baseComponents;
+    private final int[] memberStart;             // component -> nodes, CSR
+    private final int[] members;
+    private final int[] dependencyStart;         // component -> components it depends on, CSR
+    private final int[] dependencies;
+    private final int[] dependentStart;          // component -> components that depend on it, CSR
+    private final int[] dependents;
+
+    // Per component, including appended ones (a single task each)
+    private final int componentCount;
+    private final int[] level;
+    private final int[] low;
+    private final int[] pre;
+    private final int[] post;
+    private final int[] appendedIds;             // component - baseComponents -> task id
+    private final int[][] appendedDependencies;  // component - baseComponents -> components
+    private final Map<Integer, Integer> appendedComponentOf;
+    private final Growth growth;
+
+    // Shared by an index and the versions appended to it; only the newest one appends
+    private static final class Growth {
+        final AtomicInteger used = new AtomicInteger();
+        final PersistentMap.Builder<Integer, Integer> componentOf = new PersistentMap.Builder<>();
+        // Dependency ids that named no task when they were indexed
+        final PersistentMap.Builder<Integer, Boolean> unresolved = new PersistentMap.Builder<>();
+    }
+
+    ReachabilityIndex(Collection<Task> taskCollection) {
+        DependencyGraph graph = new DependencyGraph(taskCollection);
+        int n = graph.size();
+        Task[] tasks = graph.tasks();
+        int[] successorStart = graph.successorStart();
+        int[] successors = graph.successors();
+
+        ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = tasks[i].getId();
+        }
+        nodeOf = graph.indexOf();
+        growth = new Growth();
+        for (Task task : tasks) {
+            for (int d = 0; d < task.getDependencyCount(); d++) {
+                int depId = task.getDependencyId(d);
+                if (nodeOf.get(depId) < 0) {
+                    growth.unresolved.put(depId, Boolean.TRUE);
+                }
+            }
+        }
+
+        component = graph.components();
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            count = Math.max(count, component[i] + 1);
+        }
+        baseComponents = count;
+        componentCount = count;
+        growth.used.set(count);
+
+        memberStart = new int[count + 1];
+        for (int i = 0; i < n; i++) {
+            memberStart[component[i] + 1]++;
+        }
+        for (int c = 0; c < count; c++) {
+            memberStart[c + 1] += memberStart[c];
+        }
+        members = new int[n];
+        int[] fill = new int[count];
+        for (int i = 0; i < n; i++) {
+            members[memberStart[component[i]] + fill[component[i]]++] = i;
+        }
+
+        // Edges between components; duplicates are kept, they only cost a revisit
+        dependencyStart = new int[count + 1];
+        dependentStart = new int[count + 1];
+        for (int u = 0; u < n; u++) {
+            for (int e = successorStart[u]; e < successorStart[u + 1]; e++) {
+                int from = component[u];
+                int to = component[successors[e]];
+                if (from != to) {
+                    dependencyStart[to + 1]++;
+                    dependentStart[from + 1]++;
+                }
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            dependencyStart[c + 1] += dependencyStart[c];
+            dependentStart[c + 1] += dependentStart[c];
+        }
+        dependencies = new int[dependencyStart[count]];
+        dependents = new int[dependentStart[count]];
+        int[] dependencyFill = new int[count];
+        int[] dependentFill = new int[count];
+        for (int u = 0; u < n; u++) {
+            for (int e = successorStart[u]; e < successorStart[u + 1]; e++) {
+                int from = component[u];
+                int to = component[successors[e]];
+                if (from != to) {
+                    dependencies[dependencyStart[to] + dependencyFill[to]++] = from;
+                    dependents[dependentStart[from] + dependentFill[from]++] = to;
+                }
+            }
+        }
+
+        // Dependencies have higher component ids, so counting down is topological order
+        level = new int[count];
+        for (int c = count - 1; c >= 0; c--) {
+            for (int e = dependencyStart[c]; e < dependencyStart[c + 1]; e++) {
+                level[c] = Math.max(level[c], level[dependencies[e]] + 1);
+            }
+        }
+
+        // Depth-first pass along dependency edges, downstream components first, with an
+        // explicit stack like DependencyGraph.components
+        pre = new int[count];
+        post = new int[count];
+        low = new int[count];
+        Arrays.fill(pre, -1);
+        int[] frame = new int[count];
+        int[] frameEdge = new int[count];
+        int nextPre = 0;
+        int nextPost = 0;
+        for (int root = 0; root < count; root++) {
+            if (pre[root] >= 0) continue;
+
+            int depth = 0;
+            frame[0] = root;
+            frameEdge[0] = dependencyStart[root];
+            pre[root] = nextPre++;
+            while (depth >= 0) {
+                int c = frame[depth];
+                if (frameEdge[depth] < dependencyStart[c + 1]) {
+                    int next = dependencies[frameEdge[depth]++];
+                    if (pre[next] < 0) {
+                        depth++;
+                        frame[depth] = next;
+                        frameEdge[depth] = dependencyStart[next];
+                        pre[next] = nextPre++;
+                    }
+                    continue;
+                }
+
+                // Every dependency has finished by now, so their intervals are final
+                post[c] = nextPost++;
+                int lowest = post[c];
+                for (int e = dependencyStart[c]; e < dependencyStart[c + 1]; e++) {
+                    lowest = Math.min(lowest, low[dependencies[e]]);
+                }
+                low[c] = lowest;
+                depth--;
+            }
+        }
+
+        appendedIds = new int[0];
+        appendedDependencies = new int[0][];
+        appendedComponentOf = growth.componentOf.snapshot();
+    }
+
+    private ReachabilityIndex(ReachabilityIndex base, int componentCount, int[] level, int[] low,
+                              int[] pre, int[] post, int[] appendedIds, int[][] appendedDependencies) {
+        this.nodeOf = base.nodeOf;
+        this.ids = base.ids;
+        this.component = base.component;
+        this.baseComponents = base.baseComponents;
+        this.memberStart = base.memberStart;
+        this.members = base.members;
+        this.dependencyStart = base.dependencyStart;
+        this.dependencies = base.dependencies;
+        this.dependentStart = base.dependentStart;
+        this.dependents = base.dependents;
+        this.componentCount = componentCount;
+        this.level = level;
+        this.low = low;
+        this.pre = pre;
+        this.post = post;
+        this.appendedIds = appendedIds;
+        this.appendedDependencies = appendedDependencies;
+        this.growth = base.growth;
+        this.appendedComponentOf = growth.componentOf.snapshot();
+    }
+
+    // This index plus the given new tasks, or null when it has to be rebuilt instead: a task's
+    // id is already indexed or named as a dependency, the appended part would outgrow the
+    // base, or this is not the newest version of the index
+    ReachabilityIndex withTasks(List<Task> added) {
+        if (added.isEmpty()) return this;
+        int count = componentCount + added.size();
+        if (count - baseComponents > Math.max(baseComponents, MIN_APPENDED)) return null;
+        if (!growth.used.compareAndSet(componentCount, count)) return null;
+
+        int[] level = this.level;
+        int[] low = this.low;
+        int[] pre = this.pre;
+        int[] post = this.post;
+        int[] appendedIds = this.appendedIds;
+        int[][] appendedDependencies = this.appendedDependencies;
+        if (count > level.length) {
+            int capacity = Math.max(count, level.length + level.length / 2);
+            level = Arrays.copyOf(level, capacity);
+            low = Arrays.copyOf(low, capacity);
+            pre = Arrays.copyOf(pre, capacity);
+            post = Arrays.copyOf(post, capacity);
+            appendedIds = Arrays.copyOf(appendedIds, capacity - baseComponents);
+            appendedDependencies = Arrays.copyOf(appendedDependencies, capacity - baseComponents);
+        }
+
+        // A failure part way leaves the claimed slots unused, so no version appends again
+        int c = componentCount;
+        for (Task task : added) {
+            int id = task.getId();
+            if (nodeOf.get(id) >= 0 || growth.componentOf.containsKey(id) || growth.unresolved.containsKey(id)) {
+                return null;
+            }
+
+            int[] resolved = new int[task.getDependencyCount()];
+            int resolvedCount = 0;
+            int deepest = -1;
+            int lowest = c;
+            for (int d = 0; d < task.getDependencyCount(); d++) {
+                int depId = task.getDependencyId(d);
+                int dep = componentOf(depId, growth.componentOf);
+                if (dep < 0) {
+                    if (depId != id) {
+                        growth.unresolved.put(depId, Boolean.TRUE);
+                    }
+                    continue;
+                }
+                resolved[resolvedCount++] = dep;
+                deepest = Math.max(deepest, level[dep]);
+                lowest = Math.min(lowest, low[dep]);
+            }
+
+            level[c] = deepest + 1;
+            low[c] = lowest;
+            pre[c] = c;
+            post[c] = c;
+            appendedIds[c - baseComponents] = id;
+            appendedDependencies[c - baseComponents] = Arrays.copyOf(resolved, resolvedCount);
+            growth.componentOf.put(id, c);
+            c++;
+        }
+        return new ReachabilityIndex(this, count, level, low, pre, post, appendedIds, appendedDependencies);
+    }
+
+    int size() {
+        return ids.length + componentCount - baseComponents;
+    }
+
+    // Whether the task waits on upstreamId, directly or through other tasks; tasks in one
+    // dependency cycle are upstream of each other, but no task is upstream of itself
+    boolean isUpstream(int upstreamId, int taskId) {
+        if (upstreamId == taskId) return false;
+        int from = componentOf(taskId, appendedComponentOf);
+        int target = componentOf(upstreamId, appendedComponentOf);
+        if (from < 0 || target < 0) return false;
+        if (from == target) return true;
+        if (!mayReach(from, target)) return false;
+        if (treeReaches(from, target)) return true;
+
+        // Depth-first search along dependencies, skipping components the labels rule out
+        IntIndexMap seen = new IntIndexMap(16);
+        IntList stack = new IntList();
+        stack.add(from);
+        while (stack.size > 0) {
+            int c = stack.items[--stack.size];
+            int[] edges = dependencies;
+            int first = 0;
+            int last;
+            if (c < baseComponents) {
+                first = dependencyStart[c];
+                last = dependencyStart[c + 1];
+            } else {
+                edges = appendedDependencies[c - baseComponents];
+                last = edges.length;
+            }
+            for (int e = first; e < last; e++) {
+                int next = edges[e];
+                if (next == target) return true;
+                if (!mayReach(next, target) || seen.put(next, 0) >= 0) continue;
+                if (treeReaches(next, target)) return true;
+                stack.add(next);
+            }
+        }
+        return false;
+    }
+
+    // Ids of every task the task waits on, directly or not, ordered by id
+    int[] upstreamOf(int taskId) {
+        int start = componentOf(taskId, appendedComponentOf);
+        if (start < 0) return new int[0];
+
+        IntIndexMap seen = new IntIndexMap(16);
+        IntList queue = new IntList();
+        seen.put(start, 0);
+        queue.add(start);
+        for (int head = 0; head < queue.size; head++) {
+            int c = queue.items[head];
+            int[] edges = dependencies;
+            int first = 0;
+            int last;
+            if (c < baseComponents) {
+                first = dependencyStart[c];
+                last = dependencyStart[c + 1];
+            } else {
+                edges = appendedDependencies[c - baseComponents];
+                last = edges.length;
+            }
+            for (int e = first; e < last; e++) {
+                if (seen.put(edges[e], 0) < 0) {
+                    queue.add(edges[e]);
+                }
+            }
+        }
+        return taskIds(queue, taskId);
+    }
+
+    // Ids of every task that waits on the task, directly or not, ordered by id:
+    // everything that slips when it slips
+    int[] downstreamOf(int taskId) {
+        int start = componentOf(taskId, appendedComponentOf);
+        if (start < 0) return new int[0];
+
+        IntIndexMap seen = new IntIndexMap(16);
+        IntList queue = new IntList();
+        seen.put(start, 0);
+        queue.add(start);
+        for (int head = 0; head < queue.size; head++) {
+            int c = queue.items[head];
+            if (c >= baseComponents) continue;
+            for (int e = dependentStart[c]; e < dependentStart[c + 1]; e++) {
+                if (seen.put(dependents[e], 0) < 0) {
+                    queue.add(dependents[e]);
+                }
+            }
+        }
+        // Appended tasks only wait on earlier components, so one pass in order finds them all
+        for (int c = baseComponents; c < componentCount; c++) {
+            if (c == start) continue;
+            for (int dep : appendedDependencies[c - baseComponents]) {
+                if (seen.get(dep) >= 0) {
+                    seen.put(c, 0);
+                    queue.add(c);
+                    break;
+                }
+            }
+        }
+        return taskIds(queue, taskId);
+    }
+
+    private int componentOf(int taskId, Map<Integer, Integer> appended) {
+        int node = nodeOf.get(taskId);
+        if (node >= 0) return component[node];
+        Integer c = appended.get(taskId);
+        return c == null ? -1 : c;
+    }
+
+    // Level and interval tests: false means target is certainly not upstream of c
+    private boolean mayReach(int c, int target) {
+        return level[target] < level[c] && low[c] <= low[target] && post[target] <= post[c];
+    }
+
+    // Spanning forest test: true means target is certainly upstream of c
+    private boolean treeReaches(int c, int target) {
+        return pre[c] <= pre[target] && post[target] <= post[c];
+    }
+
+    // Task ids of the components, without the task itself, ordered by id
+    private int[] taskIds(IntList components, int taskId) {
+        IntList result = new IntList();
+        for (int i = 0; i < components.size; i++) {
+            int c = components.items[i];
+            if (c >= baseComponents) {
+                if (appendedIds[c - baseComponents] != taskId) {
+                    result.add(appendedIds[c - baseComponents]);
+                }
+                continue;
+            }
+            for (int m = memberStart[c]; m < memberStart[c + 1]; m++) {
+                if (ids[members[m]] != taskId) {
+                    result.add(ids[members[m]]);
+                }
+            }
+        }
+        int[] sorted = Arrays.copyOf(result.items, result.size);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static final class IntList {
+        int[] items = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package GUI;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Machine-readable project report, streamed section by section to a Writer.
+//
+//   ProjectPlanner --report (csv|jsonl) [--out FILE] TASKS_FILE RESOURCES_FILE
+//
+// Sections are completion, overlaps, teams and effort. In CSV every section
+// starts with a header row and every row starts with the section name, so a
+// filter on the first column splits them apart; in JSON lines every row is one
+// object whose first field is the section.
+//
+// Rows are produced straight from the snapshot (overlapping pairs as they are
+// found, teams in id order) and formatted into one reused line buffer, so
+// memory stays flat however long the report gets.
+class ReportWriter {
+    private static final String USAGE =
+        "Usage: ProjectPlanner --report (csv|jsonl) [--out FILE] TASKS_FILE RESOURCES_FILE";
+
+    enum Format { CSV, JSONL }
+
+    enum Section { COMPLETION, OVERLAPS, TEAMS, EFFORT }
+
+    private final Writer out;
+    private final Format format;
+    private final StringBuilder line = new StringBuilder(256);
+    private char[] chars = new char[256];
+    private String section;
+    private String[] columns;
+    private int column;
+
+    ReportWriter(Writer out, Format format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    // Returns the process exit code: 0 on success, 1 if the report failed, 2 on bad usage
+    static int run(String[] args) {
+        Format format;
+        Path outFile = null;
+        List<String> files = new ArrayList<>();
+        try {
+            format = Format.valueOf(args[0].toUpperCase());
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].equals("--out")) {
+                    outFile = Paths.get(args[++i]);
+                } else if (args[i].startsWith("--")) {
+                    throw new IllegalArgumentException(args[i]);
+                } else {
+                    files.add(args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        if (files.size() != 2) {
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        // Project.load* report progress on System.out, which may carry the report
+        PrintStream stdout = System.out;
+        System.setOut(System.err);
+        try {
+            Project project = new Project();
+            project.setLoadMode(Project.LoadMode.PARALLEL_MAPPED);
+            project.loadTasks(files.get(0));
+            project.loadResources(files.get(1));
+            try (Writer writer = outFile != null
+                    ? Files.newBufferedWriter(outFile, StandardCharsets.UTF_8)
+                    : new BufferedWriter(new OutputStreamWriter(stdout, StandardCharsets.UTF_8), 1 << 16)) {
+                new ReportWriter(writer, format).write(project.snapshot());
+            }
+            return 0;
+        } catch (FileParseException | IOException e) {
+            System.err.println("Report failed: " + e.getMessage());
+            return 1;
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+
+    // Writes the given sections in order, or all of them when none are given; does not flush
+    void write(ProjectSnapshot snapshot, Section... sections) throws IOException {
+        if (sections.length == 0) {
+            sections = Section.values();
+        }
+        try {
+            for (Section each : sections) {
+                switch (each) {
+                    case COMPLETION: writeCompletion(snapshot); break;
+                    case OVERLAPS: writeOverlaps(snapshot); break;
+                    case TEAMS: writeTeams(snapshot); break;
+                    case EFFORT: writeEffort(snapshot); break;
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeCompletion(ProjectSnapshot snapshot) throws IOException {
+        begin("completion", "completionTime", "durationHours", "durationDays");
+        LocalDateTime completion = snapshot.getProjectCompletionTime();
+        double hours = snapshot.getProjectDurationInHours();
+        text(completion).number(hours).number(hours / 24).endRow();
+    }
+
+    private void writeOverlaps(ProjectSnapshot snapshot) throws IOException {
+        begin("overlaps", "taskId", "taskTitle", "dependencyId", "dependencyTitle");
+        snapshot.forEachOverlappingDependency((task, depTask) -> {
+            try {
+                number(task.getId()).text(task.getTitle()).number(depTask.getId()).text(depTask.getTitle()).endRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeTeams(ProjectSnapshot snapshot) throws IOException {
+        begin("teams", "taskId", "team");
+        for (int taskId : snapshot.sortedTaskIds()) {
+            number(taskId).list(snapshot.getTeamCodes(taskId), snapshot.getDictionary()).endRow();
+        }
+    }
+
+    private void writeEffort(ProjectSnapshot snapshot) throws IOException {
+        begin("effort", "resource", "hours");
+        for (Map.Entry<String, Double> entry : snapshot.getResourceEffort().entrySet()) {
+            text(entry.getKey()).number(entry.getValue()).endRow();
+        }
+    }
+
+    // Starts a section; CSV gets its header row here
+    private void begin(String name, String... names) throws IOException {
+        section = name;
+        columns = names;
+        if (format == Format.CSV) {
+            line.append("section");
+            for (String each : names) {
+                line.append(',').append(each);
+            }
+            endRow();
+        }
+    }
+
+    private ReportWriter text(Object value) {
+        if (format == Format.CSV) {
+            csvField(value == null ? "" : value.toString());
+        } else {
+            Json.quote(value, jsonField());
+        }
+        return this;
+    }
+
+    private ReportWriter number(long value) {
+        (format == Format.CSV ? csvSeparator() : jsonField()).append(value);
+        return this;
+    }
+
+    // Non-finite values become an empty CSV field or JSON null
+    private ReportWriter number(double value) {
+        if (format == Format.CSV) {
+            csvSeparator();
+            if (Double.isFinite(value)) line.append(value);
+        } else {
+            jsonField().append(Json.number(value));
+        }
+        return this;
+    }
+
+    // Dictionary strings as one CSV field joined with ';', or a JSON array of strings
+    private ReportWriter list(int[] codes, StringDictionary dictionary) {
+        if (format == Format.CSV) {
+            StringBuilder joined = new StringBuilder();
+            for (int i = 0; i < codes.length; i++) {
+                if (i > 0) joined.append(';');
+                joined.append(dictionary.get(codes[i]));
+            }
+            csvField(joined.toString());
+        } else {
+            StringBuilder json = jsonField().append('[');
+            for (int i = 0; i < codes.length; i++) {
+                if (i > 0) json.append(',');
+                Json.quote(dictionary.get(codes[i]), json);
+            }
+            json.append(']');
+        }
+        return this;
+    }
+
+    private StringBuilder csvSeparator() {
+        if (column++ == 0) {
+            line.append(section);
+        }
+        return line.append(',');
+    }
+
+    // Quoted only when it has to be, with embedded quotes doubled
+    private void csvField(String value) {
+        csvSeparator();
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') line.append('"');
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    // Opens the next "name": pair of the row's object
+    private StringBuilder jsonField() {
+        if (column == 0) {
+            line.append("{\"section\":");
+            Json.quote(section, line);
+        }
+        line.append(',');
+        return Json.quote(columns[column++], line).append(':');
+    }
+
+    private void endRow() throws IOException {
+        if (format == Format.JSONL && column > 0) {
+            line.append('}');
+        }
+        line.append('\n');
+        int length = line.length();
+        if (length > chars.length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+        line.setLength(0);
+        column = 0;
+    }
+}
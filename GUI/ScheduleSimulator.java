@@ -0,0 +1,225 @@
+package GUI;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Monte Carlo schedule risk: how likely the plan is to finish by a given date.
+//
+// Each trial draws every task's duration from a triangular distribution around
+// its planned duration and pushes the draws through the dependency graph: a task
+// starts at its planned start or when its last dependency finishes, whichever
+// is later. The project finish of every trial is kept, so percentiles are exact.
+//
+// Trials run in fixed-size batches on the fork-join pool. Every batch has its own
+// SplittableRandom, split off one seeded generator up front, and its own scratch
+// array, and writes only its own slots of the results, so no locks or atomics
+// are involved and the same seed gives the same numbers on any number of cores.
+class ScheduleSimulator {
+    // Durations range from OPTIMISTIC to PESSIMISTIC times the plan, most likely as planned
+    static final double OPTIMISTIC = 0.75;
+    static final double PESSIMISTIC = 1.5;
+    private static final int BATCH_SIZE = 256;
+
+    static class Result {
+        private final long projectStart;
+        private final long plannedFinish;
+        private final long[] finishes;   // minutes after projectStart, sorted
+
+        private Result(long projectStart, long plannedFinish, long[] finishes) {
+            this.projectStart = projectStart;
+            this.plannedFinish = plannedFinish;
+            this.finishes = finishes;
+        }
+
+        int getTrials() { return finishes.length; }
+
+        // Finish time that the given share of trials (0 < p <= 1) met
+        LocalDateTime getPercentile(double p) {
+            int rank = (int) Math.ceil(p * finishes.length) - 1;
+            return toDateTime(finishes[Math.max(0, Math.min(finishes.length - 1, rank))]);
+        }
+
+        LocalDateTime getEarliestFinish() { return toDateTime(finishes[0]); }
+        LocalDateTime getLatestFinish() { return toDateTime(finishes[finishes.length - 1]); }
+
+        LocalDateTime getMeanFinish() {
+            double sum = 0;
+            for (long finish : finishes) {
+                sum += finish;
+            }
+            return toDateTime(Math.round(sum / finishes.length));
+        }
+
+        // Finish with every task taking exactly its planned duration
+        LocalDateTime getPlannedFinish() { return toDateTime(plannedFinish); }
+
+        // Share of trials that finished no later than the planned finish
+        double getOnTimeProbability() {
+            int onTime = upperBound(plannedFinish);
+            return onTime / (double) finishes.length;
+        }
+
+        // Trial counts per equal-width finish interval between the earliest and latest finish
+        int[] getHistogram(int bins) {
+            int[] counts = new int[bins];
+            long width = binWidth(bins);
+            for (long finish : finishes) {
+                counts[(int) Math.min(bins - 1, (finish - finishes[0]) / width)]++;
+            }
+            return counts;
+        }
+
+        // Start of the given histogram bin
+        LocalDateTime getHistogramBinStart(int bins, int bin) {
+            return toDateTime(finishes[0] + bin * binWidth(bins));
+        }
+
+        private long binWidth(int bins) {
+            return Math.max(1, (finishes[finishes.length - 1] - finishes[0] + bins) / bins);
+        }
+
+        private LocalDateTime toDateTime(long offsetMinutes) {
+            return Task.fromEpochMinute(projectStart + offsetMinutes);
+        }
+
+        // Number of finishes <= value
+        private int upperBound(long value) {
+            int low = 0;
+            int high = finishes.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (finishes[mid] <= value) low = mid + 1; else high = mid;
+            }
+            return low;
+        }
+    }
+
+    private ScheduleSimulator() {
+    }
+
+    // Throws IllegalStateException on a dependency cycle or an empty plan
+    static Result simulate(Collection<Task> taskCollection, int trials, long seed) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Trials must be positive: " + trials);
+        }
+        DependencyGraph graph = new DependencyGraph(taskCollection);
+        int n = graph.size();
+        if (n == 0) {
+            throw new IllegalStateException("No tasks to simulate");
+        }
+        Task[] tasks = graph.tasks();
+        int[] order = graph.topologicalOrder();
+        int[] successorStart = graph.successorStart();
+        int[] successors = graph.successors();
+
+        // Everything below is laid out by position in topological order, with each task's
+        // dependencies as earlier positions, so a trial is one pass over flat arrays
+        int[] position = new int[n];
+        for (int k = 0; k < n; k++) {
+            position[order[k]] = k;
+        }
+        int[] dependencyStart = new int[n + 1];
+        for (int node = 0; node < n; node++) {
+            for (int e = successorStart[node]; e < successorStart[node + 1]; e++) {
+                dependencyStart[position[successors[e]] + 1]++;
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            dependencyStart[k + 1] += dependencyStart[k];
+        }
+        int[] dependencies = new int[dependencyStart[n]];
+        int[] fill = new int[n];
+        for (int node = 0; node < n; node++) {
+            for (int e = successorStart[node]; e < successorStart[node + 1]; e++) {
+                int k = position[successors[e]];
+                dependencies[dependencyStart[k] + fill[k]++] = position[node];
+            }
+        }
+
+        long projectStart = Long.MAX_VALUE;
+        for (Task task : tasks) {
+            projectStart = Math.min(projectStart, task.getStartMinute());
+        }
+        double[] plannedStart = new double[n];
+        double[] duration = new double[n];
+        for (int k = 0; k < n; k++) {
+            Task task = tasks[order[k]];
+            plannedStart[k] = task.getStartMinute() - projectStart;
+            duration[k] = Math.max(0, task.getDurationMinutes());
+        }
+        Network network = new Network(plannedStart, duration, dependencyStart, dependencies);
+        long plannedFinish = Math.round(network.finish(null, new double[n]));
+
+        int batches = (trials + BATCH_SIZE - 1) / BATCH_SIZE;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[batches];
+        for (int b = 0; b < batches; b++) {
+            randoms[b] = root.split();
+        }
+
+        long[] finishes = new long[trials];
+        IntStream.range(0, batches).parallel().forEach(b -> {
+            SplittableRandom random = randoms[b];
+            double[] finish = new double[n];
+            int end = Math.min(trials, (b + 1) * BATCH_SIZE);
+            for (int trial = b * BATCH_SIZE; trial < end; trial++) {
+                finishes[trial] = Math.round(network.finish(random, finish));
+            }
+        });
+        Arrays.sort(finishes);
+        return new Result(projectStart, plannedFinish, finishes);
+    }
+
+    // The plan in topological order: each task's dependencies are earlier positions
+    private static final class Network {
+        // Duration factors at the midpoints of 4096 equal-probability slices of the
+        // triangular distribution, so a draw is one random int and a table lookup
+        private static final int FACTOR_BITS = 12;
+        private static final double[] FACTORS = new double[1 << FACTOR_BITS];
+
+        static {
+            // Peak of the distribution on [0, 1], where the planned duration falls
+            double mode = (1 - OPTIMISTIC) / (PESSIMISTIC - OPTIMISTIC);
+            for (int i = 0; i < FACTORS.length; i++) {
+                double u = (i + 0.5) / FACTORS.length;
+                double x = u < mode ? Math.sqrt(u * mode) : 1 - Math.sqrt((1 - u) * (1 - mode));
+                FACTORS[i] = OPTIMISTIC + (PESSIMISTIC - OPTIMISTIC) * x;
+            }
+        }
+
+        private final double[] plannedStart;   // minutes after the project start
+        private final double[] duration;       // planned minutes
+        private final int[] dependencyStart;
+        private final int[] dependencies;
+
+        Network(double[] plannedStart, double[] duration, int[] dependencyStart, int[] dependencies) {
+            this.plannedStart = plannedStart;
+            this.duration = duration;
+            this.dependencyStart = dependencyStart;
+            this.dependencies = dependencies;
+        }
+
+        // Project finish of one trial in minutes after the project start, with durations drawn
+        // from random, or as planned when it is null; finish is scratch space.
+        // Plain comparisons instead of Math.max: the times are never NaN or -0.0.
+        double finish(SplittableRandom random, double[] finish) {
+            double projectFinish = 0;
+            for (int k = 0; k < finish.length; k++) {
+                double start = plannedStart[k];
+                for (int e = dependencyStart[k]; e < dependencyStart[k + 1]; e++) {
+                    double ready = finish[dependencies[e]];
+                    if (ready > start) start = ready;
+                }
+                double end = random == null
+                    ? start + duration[k]
+                    : start + duration[k] * FACTORS[random.nextInt() >>> (32 - FACTOR_BITS)];
+                finish[k] = end;
+                if (end > projectFinish) projectFinish = end;
+            }
+            return projectFinish;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package GUI;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compact binary form of a Project.
+//
+// Layout (big-endian):
+//   magic, version
+//   string dictionary: count, then (byteLength, UTF-8 bytes) per entry
+//   tasks:       count, then (id, titleCode, startMinute, endMinute, depCount, depIds...,
+//                linkedCount, linkedTaskIndexes...)
+//   resources:   count, then (nameCode, allocationCount, (taskId, loadPercentage)...)
+//   allocations: count, then (resourceNameCode, taskId, loadPercentage)
+//
+// Timestamps are stored as minutes since 1970-01-01T00:00 and strings are
+// written once and referenced by their dictionary code. Projects resolve
+// dependencies by id, so no linked task indexes are written (linkedCount is
+// 0); load() skips any that older snapshots carry.
+//
+// save() writes a temporary file next to the target, forces it to disk and
+// only then moves it into place, so a crash, a power loss or a full disk never
+// leaves a truncated snapshot behind. load() reads through one fixed-size
+// buffer and closes the file before returning, so nothing stays mapped and
+// the file can be replaced right away, also on Windows.
+class SnapshotFile {
+    private static final int MAGIC = 0x50505331; // "PPS1"
+    private static final int VERSION = 1;
+
+    private SnapshotFile() {
+    }
+
+    static void save(Project project, Path path) throws IOException {
+        ProjectSnapshot snapshot = project.snapshot();
+        Map<Integer, Task> tasks = snapshot.getTasks();
+        Map<String, Resource> resources = snapshot.getResources();
+        Collection<Allocation> allocations = snapshot.getAllocations();
+
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        for (Task task : tasks.values()) {
+            encode(task.getTitle(), codes, dictionary);
+        }
+        for (Resource resource : resources.values()) {
+            encode(resource.getName(), codes, dictionary);
+        }
+        for (Allocation allocation : allocations) {
+            encode(allocation.getResource().getName(), codes, dictionary);
+        }
+
+        // Same directory, so the move is a rename; created with the usual permissions
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        boolean saved = false;
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+
+                out.writeInt(dictionary.size());
+                for (String value : dictionary) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+
+                out.writeInt(tasks.size());
+                for (Task task : tasks.values()) {
+                    out.writeInt(task.getId());
+                    out.writeInt(codes.get(task.getTitle()));
+                    out.writeLong(task.getStartMinute());
+                    out.writeLong(task.getEndMinute());
+                    List<Integer> dependencyIds = task.getDependencyIds();
+                    out.writeInt(dependencyIds.size());
+                    for (int depId : dependencyIds) {
+                        out.writeInt(depId);
+                    }
+                    out.writeInt(0);
+                }
+
+                out.writeInt(resources.size());
+                for (Resource resource : resources.values()) {
+                    out.writeInt(codes.get(resource.getName()));
+                    Map<Integer, Integer> resourceAllocations = resource.getAllocations();
+                    out.writeInt(resourceAllocations.size());
+                    for (Map.Entry<Integer, Integer> entry : resourceAllocations.entrySet()) {
+                        out.writeInt(entry.getKey());
+                        out.writeInt(entry.getValue());
+                    }
+                }
+
+                out.writeInt(allocations.size());
+                for (Allocation allocation : allocations) {
+                    out.writeInt(codes.get(allocation.getResource().getName()));
+                    out.writeInt(allocation.getTask().getId());
+                    out.writeInt(allocation.getLoadPercentage());
+                }
+                // The data must be on disk before the rename is, or a crash could keep the rename only
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            saved = true;
+        } finally {
+            if (!saved) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    static Project load(Path path) throws FileParseException {
+        return load(path, Project.TaskStorage.OBJECTS);
+    }
+
+    static Project load(Path path, Project.TaskStorage taskStorage) throws FileParseException {
+        try (Input in = new Input(path)) {
+            if (in.getInt() != MAGIC) {
+                throw new FileParseException("Not a project snapshot: " + path);
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new FileParseException("Unsupported snapshot version " + version + ": " + path);
+            }
+
+            String[] dictionary = new String[in.getInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = new String(in.getBytes(in.getInt()), StandardCharsets.UTF_8);
+            }
+
+            int taskCount = in.getInt();
+            Map<Integer, Task> tasks = new HashMap<>(capacityFor(taskCount));
+            for (int i = 0; i < taskCount; i++) {
+                int id = in.getInt();
+                String title = dictionary[in.getInt()];
+                long startMinute = in.getLong();
+                long endMinute = in.getLong();
+                int depCount = in.getInt();
+                List<Integer> dependencyIds = new ArrayList<>(depCount);
+                for (int d = 0; d < depCount; d++) {
+                    dependencyIds.add(in.getInt());
+                }
+                tasks.put(id, new Task(id, title, startMinute, endMinute, dependencyIds));
+
+                // Linked task indexes; dependencies are resolved by id
+                int linkedCount = in.getInt();
+                for (int d = 0; d < linkedCount; d++) {
+                    in.getInt();
+                }
+            }
+
+            int resourceCount = in.getInt();
+            Map<String, Resource> resources = new HashMap<>(capacityFor(resourceCount));
+            for (int i = 0; i < resourceCount; i++) {
+                Resource resource = new Resource(dictionary[in.getInt()]);
+                int allocationCount = in.getInt();
+                for (int a = 0; a < allocationCount; a++) {
+                    int taskId = in.getInt();
+                    resource.addAllocation(taskId, in.getInt());
+                }
+                resources.put(resource.getName(), resource);
+            }
+
+            int allocationCount = in.getInt();
+            List<Allocation> allocations = new ArrayList<>(allocationCount);
+            for (int i = 0; i < allocationCount; i++) {
+                Resource resource = resources.get(dictionary[in.getInt()]);
+                Task task = tasks.get(in.getInt());
+                int loadPercentage = in.getInt();
+                if (resource == null || task == null) {
+                    throw new FileParseException("Dangling allocation " + i + " in snapshot: " + path);
+                }
+                allocations.add(new Allocation(resource, task, loadPercentage));
+            }
+
+            Project project = new Project(taskStorage);
+            project.restore(tasks, resources, allocations);
+            return project;
+        } catch (EOFException | RuntimeException e) {
+            throw new FileParseException("Corrupt project snapshot: " + path, e);
+        } catch (IOException e) {
+            throw new FileParseException("Could not read file: " + path, e);
+        }
+    }
+
+    // Big-endian reads through one heap buffer that is refilled from the channel
+    private static final class Input implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+
+        Input(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer.flip();
+        }
+
+        int getInt() throws IOException {
+            require(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        long getLong() throws IOException {
+            require(Long.BYTES);
+            return buffer.getLong();
+        }
+
+        byte[] getBytes(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            for (int done = 0; done < length; ) {
+                require(1);
+                int n = Math.min(buffer.remaining(), length - done);
+                buffer.get(bytes, done, n);
+                done += n;
+            }
+            return bytes;
+        }
+
+        // At least count bytes in the buffer, or EOFException for a truncated file
+        private void require(int count) throws IOException {
+            if (buffer.remaining() >= count) return;
+            buffer.compact();
+            while (buffer.position() < count) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Snapshot ends early");
+                }
+            }
+            buffer.flip();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static void encode(String value, Map<String, Integer> codes, List<String> dictionary) {
+        if (!codes.containsKey(value)) {
+            codes.put(value, dictionary.size());
+            dictionary.add(value);
+        }
+    }
+
+    private static int capacityFor(int size) {
+        return (int) Math.min(Integer.MAX_VALUE, size * 4L / 3 + 1);
+    }
+}
@@ -0,0 +1,10 @@
+package GUI;
+
+import java.util.Map;
+
+// A map with a single writer that can hand out read-only copies of its current
+// contents cheaply, without copying them up front
+interface SnapshotMap<K, V> extends Map<K, V> {
+    // Read-only and safe to share with other threads; later writes do not show through
+    Map<K, V> snapshot();
+}
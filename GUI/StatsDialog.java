@@ -0,0 +1,54 @@
+package GUI;
+
+import javax.swing.*;
+import java.awt.*;
+
+// Live view of PlanMetrics: per-stage timings, counts, allocation and histograms.
+// Not modal, so it can stay open next to the main window while plans are loaded
+// and analyzed; the text is refreshed once a second while it is showing.
+public class StatsDialog extends JDialog {
+    private static final int REFRESH_MILLIS = 1000;
+
+    private JTextArea statsArea;
+    private Timer refreshTimer;
+
+    public StatsDialog(JFrame parent) {
+        super(parent, "Performance Statistics", false);
+        initializeUI();
+        setSize(950, 550);
+        setLocationRelativeTo(parent);
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout());
+
+        statsArea = new JTextArea();
+        statsArea.setEditable(false);
+        statsArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        add(new JScrollPane(statsArea), BorderLayout.CENTER);
+
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> dispose());
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.add(closeButton);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        refreshTimer = new Timer(REFRESH_MILLIS, e -> refresh());
+        refresh();
+        refreshTimer.start();
+    }
+
+    private void refresh() {
+        String summary = PlanMetrics.summary();
+        if (!summary.equals(statsArea.getText())) {
+            statsArea.setText(summary);
+            statsArea.setCaretPosition(0);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        refreshTimer.stop();
+        super.dispose();
+    }
+}
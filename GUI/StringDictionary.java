@@ -0,0 +1,222 @@
+package GUI;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+// Append-only two-way map between strings and dense int codes, keeping one
+// canonical instance of each distinct string.
+//
+// Plans repeat the same task titles and resource names many times over; the
+// loaders look them up here so every repeat shares one String, and columnar
+// storage and team sets keep the 4-byte code instead. Plain ASCII text can be
+// looked up straight from the file buffer, so a title that is already known
+// costs no allocation at all.
+//
+// Codes are never reused or removed, so a code taken from any snapshot stays
+// valid. Lookups that may add lock one of SEGMENTS segments picked by hash, so
+// parallel loaders rarely wait on each other; get(code) does not lock.
+final class StringDictionary {
+    private static final int SEGMENT_BITS = 4;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    StringDictionary() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    // Code of the value, added if it is new
+    int code(String value) {
+        int hash = value.hashCode();
+        Segment segment = segments[segmentOf(hash)];
+        synchronized (segment) {
+            int local = segment.find(hash, value);
+            if (local < 0) {
+                local = segment.add(hash, value);
+            }
+            return local << SEGMENT_BITS | segmentOf(hash);
+        }
+    }
+
+    // Code of the UTF-8 text in buf[start, end), added if it is new
+    int code(ByteBuffer buf, int start, int end) {
+        // String.hashCode of ASCII text is the same sum over its bytes
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buf.get(i);
+            if (b < 0) {
+                return code(PlanFileParser.text(buf, start, end));
+            }
+            hash = 31 * hash + b;
+        }
+        Segment segment = segments[segmentOf(hash)];
+        synchronized (segment) {
+            int local = segment.find(hash, buf, start, end);
+            if (local < 0) {
+                local = segment.add(hash, PlanFileParser.text(buf, start, end));
+            }
+            return local << SEGMENT_BITS | segmentOf(hash);
+        }
+    }
+
+    // Code of the value, or -1 when it was never added
+    int find(String value) {
+        int hash = value.hashCode();
+        Segment segment = segments[segmentOf(hash)];
+        synchronized (segment) {
+            int local = segment.find(hash, value);
+            return local < 0 ? -1 : local << SEGMENT_BITS | segmentOf(hash);
+        }
+    }
+
+    // The canonical instance equal to the value
+    String intern(String value) {
+        return get(code(value));
+    }
+
+    String intern(ByteBuffer buf, int start, int end) {
+        return get(code(buf, start, end));
+    }
+
+    // Readers only hold codes that were added before the snapshot they came from was published
+    String get(int code) {
+        return segments[code & (SEGMENTS - 1)].strings[code >>> SEGMENT_BITS];
+    }
+
+    // Read-only set of the strings behind the codes, in code array order; the codes must be distinct
+    Set<String> asSet(int[] codes) {
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new Iterator<String>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < codes.length;
+                    }
+
+                    @Override
+                    public String next() {
+                        if (next >= codes.length) throw new NoSuchElementException();
+                        return get(codes[next++]);
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object value) {
+                if (!(value instanceof String)) return false;
+                int code = find((String) value);
+                for (int member : codes) {
+                    if (member == code) return true;
+                }
+                return false;
+            }
+
+            @Override
+            public int size() {
+                return codes.length;
+            }
+        };
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    private static int segmentOf(int hash) {
+        return (hash ^ (hash >>> 16)) & (SEGMENTS - 1);
+    }
+
+    // Open-addressing table of local indexes into strings, guarded by the segment's monitor.
+    // strings is volatile and replaced when it grows, so get() sees filled arrays.
+    private static final class Segment {
+        private int[] slots = new int[16];          // local index + 1, 0 = empty
+        private int[] hashes = new int[8];
+        private volatile String[] strings = new String[8];
+        private int size;
+
+        int find(int hash, String value) {
+            String[] current = strings;
+            int mask = slots.length - 1;
+            for (int i = slot(hash, mask); slots[i] != 0; i = (i + 1) & mask) {
+                int local = slots[i] - 1;
+                if (hashes[local] == hash && current[local].equals(value)) {
+                    return local;
+                }
+            }
+            return -1;
+        }
+
+        // Bytes are known to be ASCII here
+        int find(int hash, ByteBuffer buf, int start, int end) {
+            String[] current = strings;
+            int mask = slots.length - 1;
+            for (int i = slot(hash, mask); slots[i] != 0; i = (i + 1) & mask) {
+                int local = slots[i] - 1;
+                if (hashes[local] == hash && asciiEquals(current[local], buf, start, end)) {
+                    return local;
+                }
+            }
+            return -1;
+        }
+
+        int add(int hash, String value) {
+            if ((size + 1) * 2 > slots.length) {
+                rehash(slots.length * 2);
+            }
+            String[] current = strings;
+            if (size == current.length) {
+                hashes = Arrays.copyOf(hashes, size * 2);
+                current = Arrays.copyOf(current, size * 2);
+            }
+            int local = size++;
+            hashes[local] = hash;
+            current[local] = value;
+            strings = current;
+            insert(hash, local);
+            return local;
+        }
+
+        private void rehash(int capacity) {
+            slots = new int[capacity];
+            for (int local = 0; local < size; local++) {
+                insert(hashes[local], local);
+            }
+        }
+
+        private void insert(int hash, int local) {
+            int mask = slots.length - 1;
+            int i = slot(hash, mask);
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = local + 1;
+        }
+
+        private static int slot(int hash, int mask) {
+            return (hash * 0x9E3779B9 >>> SEGMENT_BITS) & mask;
+        }
+
+        private static boolean asciiEquals(String value, ByteBuffer buf, int start, int end) {
+            if (value.length() != end - start) return false;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) != buf.get(start + i)) return false;
+            }
+            return true;
+        }
+    }
+}
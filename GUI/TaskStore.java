@@ -0,0 +1,597 @@
+package GUI;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+// Columnar task storage for very large plans.
+//
+// Instead of one Task object (a title String, a boxed id list and a
+// HashMap entry) per task, every field lives in a primitive
+// column: ids, epoch-minute start/end, title codes into the project's
+// StringDictionary and dependency ids in one CSR-style int pool. Task ids map
+// to rows through an IntIndexMap. The Map interface hands out lightweight
+// StoredTask views, so Project and everything above it keep working with Task.
+//
+// Rows are swap-removed; dependency lists of replaced or removed rows leave
+// garbage in the pool, which is compacted once it outweighs the live data.
+// Titles cost one int per row, and views return the dictionary's shared
+// instance instead of decoding a new String on every call.
+//
+// snapshot() hands out a read-only store over the same columns in O(1).
+// Columns are cut into pages of PAGE_SIZE rows and the id index into segments
+// by id hash; after a snapshot, a write copies only the pages and segment it
+// touches, plus the page directories, so an edit costs O(PAGE_SIZE + rows /
+// PAGE_SIZE) rather than a copy of every column. Rewrites of every row (pool
+// compaction, recode()) copy all pages, but are amortized over many edits.
+// The pool is only ever appended to or replaced, and the dictionary only
+// grows, so both stay shared. recode() moves the titles to a new dictionary;
+// snapshots keep the old one.
+class TaskStore extends AbstractMap<Integer, Task> implements SnapshotMap<Integer, Task> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private int size;
+    private final IntColumn ids;
+    private final LongColumn startMinutes;
+    private final LongColumn endMinutes;
+    private final IntColumn titleCodes;
+    private final IntColumn dependencyOffsets;
+    private final IntColumn dependencyCounts;
+
+    private StringDictionary titles;
+    private int[] dependencyPool = new int[INITIAL_CAPACITY];
+    private int dependencyPoolSize;
+    private int dependencyGarbage;
+
+    private RowIndex rowsById = new RowIndex(0);
+    private int modCount;
+
+    private final boolean readOnly;
+    // Set while the latest snapshot still shares the columns
+    private TaskStore snapshot;
+
+    private Set<Map.Entry<Integer, Task>> entrySet;
+    private Collection<Task> values;
+
+    TaskStore() {
+        this(new StringDictionary());
+    }
+
+    TaskStore(StringDictionary titles) {
+        this.titles = titles;
+        readOnly = false;
+        ids = new IntColumn();
+        startMinutes = new LongColumn();
+        endMinutes = new LongColumn();
+        titleCodes = new IntColumn();
+        dependencyOffsets = new IntColumn();
+        dependencyCounts = new IntColumn();
+    }
+
+    // Marks everything the source holds now as shared, so its next writes copy first
+    private TaskStore(TaskStore source) {
+        titles = source.titles;
+        readOnly = true;
+        size = source.size;
+        ids = source.ids.snapshot();
+        startMinutes = source.startMinutes.snapshot();
+        endMinutes = source.endMinutes.snapshot();
+        titleCodes = source.titleCodes.snapshot();
+        dependencyOffsets = source.dependencyOffsets.snapshot();
+        dependencyCounts = source.dependencyCounts.snapshot();
+        dependencyPool = source.dependencyPool;
+        dependencyPoolSize = source.dependencyPoolSize;
+        rowsById = source.rowsById.snapshot();
+    }
+
+    @Override
+    public TaskStore snapshot() {
+        if (readOnly) return this;
+        if (snapshot == null) {
+            snapshot = new TaskStore(this);
+        }
+        return snapshot;
+    }
+
+    // Called before every change: refuses writes to snapshots and retires the cached one.
+    // The columns and index copy what the snapshot shares as it is written.
+    private void beforeWrite() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Task store snapshots are read-only");
+        }
+        snapshot = null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && rowsById.get((Integer) key) >= 0;
+    }
+
+    @Override
+    public Task get(Object key) {
+        if (!(key instanceof Integer)) return null;
+        int row = rowsById.get((Integer) key);
+        return row < 0 ? null : new StoredTask(this, ids.get(row));
+    }
+
+    // Copies the task into the columns; a replaced task is returned as a detached copy
+    @Override
+    public Task put(Integer key, Task task) {
+        if (key != task.getId()) {
+            throw new IllegalArgumentException("Key " + key + " does not match task id " + task.getId());
+        }
+        beforeWrite();
+        int row = rowsById.get(key);
+        Task previous = null;
+        if (row < 0) {
+            row = size;
+            ensureCapacity(size + 1);
+            rowsById.put(key, row);
+            size++;
+        } else {
+            previous = copyOf(row);
+            dependencyGarbage += dependencyCounts.get(row);
+        }
+
+        ids.set(row, task.getId());
+        startMinutes.set(row, task.getStartMinute());
+        endMinutes.set(row, task.getEndMinute());
+        titleCodes.set(row, titles.code(task.getTitle()));
+        appendDependencies(row, task);
+        if (rowsById.isCrowded()) {
+            rowsById = RowIndex.rebuild(ids, size, rowsById.bits + 1);
+        }
+        modCount++;
+        compactIfWasteful();
+        return previous;
+    }
+
+    // Returns the removed task as a detached copy
+    @Override
+    public Task remove(Object key) {
+        if (!containsKey(key)) return null;
+        beforeWrite();
+        int row = rowsById.remove((Integer) key);
+
+        Task removed = copyOf(row);
+        dependencyGarbage += dependencyCounts.get(row);
+
+        // Move the last row into the hole
+        int last = --size;
+        if (row != last) {
+            ids.set(row, ids.get(last));
+            startMinutes.set(row, startMinutes.get(last));
+            endMinutes.set(row, endMinutes.get(last));
+            titleCodes.set(row, titleCodes.get(last));
+            dependencyOffsets.set(row, dependencyOffsets.get(last));
+            dependencyCounts.set(row, dependencyCounts.get(last));
+            rowsById.put(ids.get(row), row);
+        }
+        modCount++;
+        compactIfWasteful();
+        return removed;
+    }
+
+    // Re-codes every title into the given dictionary, which takes the current one's place
+    void recode(StringDictionary dictionary) {
+        beforeWrite();
+        for (int row = 0; row < size; row++) {
+            titleCodes.set(row, dictionary.code(titles.get(titleCodes.get(row))));
+        }
+        titles = dictionary;
+    }
+
+    @Override
+    public void clear() {
+        beforeWrite();
+        rowsById = new RowIndex(0);
+        size = 0;
+        // A new pool rather than the reused one, which a snapshot may still be reading
+        dependencyPool = new int[INITIAL_CAPACITY];
+        dependencyPoolSize = 0;
+        dependencyGarbage = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Task>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<Integer, Task>>() {
+                @Override
+                public Iterator<Map.Entry<Integer, Task>> iterator() {
+                    Iterator<Task> tasks = values().iterator();
+                    return new Iterator<Map.Entry<Integer, Task>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return tasks.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<Integer, Task> next() {
+                            Task task = tasks.next();
+                            return new SimpleImmutableEntry<>(task.getId(), task);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    // Iterates views in row order without building entries
+    @Override
+    public Collection<Task> values() {
+        if (values == null) {
+            values = new AbstractCollection<Task>() {
+                @Override
+                public Iterator<Task> iterator() {
+                    return new Iterator<Task>() {
+                        private final int expectedModCount = modCount;
+                        private int row;
+
+                        @Override
+                        public boolean hasNext() {
+                            return row < size;
+                        }
+
+                        @Override
+                        public Task next() {
+                            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                            if (row >= size) throw new NoSuchElementException();
+                            return new StoredTask(TaskStore.this, ids.get(row++));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return values;
+    }
+
+    private int rowOf(int id) {
+        int row = rowsById.get(id);
+        if (row < 0) {
+            throw new IllegalStateException("Task " + id + " is no longer in the store");
+        }
+        return row;
+    }
+
+    private String titleAt(int row) {
+        return titles.get(titleCodes.get(row));
+    }
+
+    private Task copyOf(int row) {
+        int offset = dependencyOffsets.get(row);
+        int count = dependencyCounts.get(row);
+        List<Integer> dependencyIds = new ArrayList<>(count);
+        for (int d = 0; d < count; d++) {
+            dependencyIds.add(dependencyPool[offset + d]);
+        }
+        return new Task(ids.get(row), titleAt(row), startMinutes.get(row), endMinutes.get(row), dependencyIds);
+    }
+
+    private void appendDependencies(int row, Task task) {
+        int count = task.getDependencyCount();
+        if (dependencyPoolSize + count > dependencyPool.length) {
+            dependencyPool = Arrays.copyOf(dependencyPool,
+                Math.max(dependencyPool.length * 2, dependencyPoolSize + count));
+        }
+        for (int d = 0; d < count; d++) {
+            dependencyPool[dependencyPoolSize + d] = task.getDependencyId(d);
+        }
+        dependencyOffsets.set(row, dependencyPoolSize);
+        dependencyCounts.set(row, count);
+        dependencyPoolSize += count;
+    }
+
+    private void ensureCapacity(int capacity) {
+        ids.ensureCapacity(capacity);
+        startMinutes.ensureCapacity(capacity);
+        endMinutes.ensureCapacity(capacity);
+        titleCodes.ensureCapacity(capacity);
+        dependencyOffsets.ensureCapacity(capacity);
+        dependencyCounts.ensureCapacity(capacity);
+    }
+
+    // Rewrites the dependency pool in row order once more than half of it is garbage
+    private void compactIfWasteful() {
+        if (dependencyGarbage > 1024 && dependencyGarbage * 2 > dependencyPoolSize) {
+            int[] pool = new int[Math.max(INITIAL_CAPACITY, dependencyPoolSize - dependencyGarbage)];
+            int used = 0;
+            for (int row = 0; row < size; row++) {
+                int count = dependencyCounts.get(row);
+                System.arraycopy(dependencyPool, dependencyOffsets.get(row), pool, used, count);
+                dependencyOffsets.set(row, used);
+                used += count;
+            }
+            dependencyPool = pool;
+            dependencyPoolSize = used;
+            dependencyGarbage = 0;
+        }
+    }
+
+    // A task read through from the store by id. Views always see the current
+    // row for their id, so replacing a task updates every view of it.
+    private static class StoredTask extends Task {
+        private final TaskStore store;
+
+        StoredTask(TaskStore store, int id) {
+            super(id);
+            this.store = store;
+        }
+
+        private int row() {
+            return store.rowOf(getId());
+        }
+
+        @Override
+        public String getTitle() { return store.titleAt(row()); }
+
+        @Override
+        public long getStartMinute() { return store.startMinutes.get(row()); }
+
+        @Override
+        public long getEndMinute() { return store.endMinutes.get(row()); }
+
+        @Override
+        public int getDependencyCount() { return store.dependencyCounts.get(row()); }
+
+        @Override
+        public int getDependencyId(int index) {
+            int row = row();
+            if (index < 0 || index >= store.dependencyCounts.get(row)) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+            return store.dependencyPool[store.dependencyOffsets.get(row) + index];
+        }
+
+        @Override
+        public List<Integer> getDependencyIds() {
+            int row = row();
+            int offset = store.dependencyOffsets.get(row);
+            int count = store.dependencyCounts.get(row);
+            List<Integer> dependencyIds = new ArrayList<>(count);
+            for (int d = 0; d < count; d++) {
+                dependencyIds.add(store.dependencyPool[offset + d]);
+            }
+            return dependencyIds;
+        }
+
+        @Override
+        public long getDurationMinutes() {
+            int row = row();
+            return store.endMinutes.get(row) - store.startMinutes.get(row);
+        }
+    }
+
+    // Pages of one int column. The first page grows up to PAGE_SIZE; later ones are
+    // allocated full. snapshot() shares the directory and every page; afterwards a
+    // write copies the directory once and each page the first time it is written.
+    private static final class IntColumn {
+        private int[][] pages = new int[1][INITIAL_CAPACITY];
+        // Pages this column may write in place; null while the directory is shared
+        private boolean[] owned = {true};
+
+        IntColumn() {
+        }
+
+        private IntColumn(int[][] pages) {
+            this.pages = pages;
+            this.owned = null;
+        }
+
+        IntColumn snapshot() {
+            owned = null;
+            return new IntColumn(pages);
+        }
+
+        int get(int row) {
+            return pages[row >>> PAGE_BITS][row & PAGE_MASK];
+        }
+
+        void set(int row, int value) {
+            int page = row >>> PAGE_BITS;
+            ownDirectory(pages.length);
+            if (!owned[page]) {
+                pages[page] = pages[page].clone();
+                owned[page] = true;
+            }
+            pages[page][row & PAGE_MASK] = value;
+        }
+
+        void ensureCapacity(int capacity) {
+            int pageCount = (capacity + PAGE_MASK) >>> PAGE_BITS;
+            int firstLength = Math.min(PAGE_SIZE, capacity);
+            if (pageCount <= pages.length && pages[pageCount - 1] != null && pages[0].length >= firstLength) return;
+            ownDirectory(pageCount > pages.length ? Math.max(pageCount, pages.length * 2) : pages.length);
+            if (pages[0].length < firstLength) {
+                pages[0] = Arrays.copyOf(pages[0], Math.min(PAGE_SIZE, Math.max(firstLength, pages[0].length * 2)));
+                owned[0] = true;
+            }
+            for (int page = 1; page < pageCount; page++) {
+                if (pages[page] == null) {
+                    pages[page] = new int[PAGE_SIZE];
+                    owned[page] = true;
+                }
+            }
+        }
+
+        private void ownDirectory(int length) {
+            if (owned == null) {
+                pages = Arrays.copyOf(pages, length);
+                owned = new boolean[length];
+            } else if (length > pages.length) {
+                pages = Arrays.copyOf(pages, length);
+                owned = Arrays.copyOf(owned, length);
+            }
+        }
+    }
+
+    // Pages of one long column. The first page grows up to PAGE_SIZE; later ones are
+    // allocated full. snapshot() shares the directory and every page; afterwards a
+    // write copies the directory once and each page the first time it is written.
+    private static final class LongColumn {
+        private long[][] pages = new long[1][INITIAL_CAPACITY];
+        // Pages this column may write in place; null while the directory is shared
+        private boolean[] owned = {true};
+
+        LongColumn() {
+        }
+
+        private LongColumn(long[][] pages) {
+            this.pages = pages;
+            this.owned = null;
+        }
+
+        LongColumn snapshot() {
+            owned = null;
+            return new LongColumn(pages);
+        }
+
+        long get(int row) {
+            return pages[row >>> PAGE_BITS][row & PAGE_MASK];
+        }
+
+        void set(int row, long value) {
+            int page = row >>> PAGE_BITS;
+            ownDirectory(pages.length);
+            if (!owned[page]) {
+                pages[page] = pages[page].clone();
+                owned[page] = true;
+            }
+            pages[page][row & PAGE_MASK] = value;
+        }
+
+        void ensureCapacity(int capacity) {
+            int pageCount = (capacity + PAGE_MASK) >>> PAGE_BITS;
+            int firstLength = Math.min(PAGE_SIZE, capacity);
+            if (pageCount <= pages.length && pages[pageCount - 1] != null && pages[0].length >= firstLength) return;
+            ownDirectory(pageCount > pages.length ? Math.max(pageCount, pages.length * 2) : pages.length);
+            if (pages[0].length < firstLength) {
+                pages[0] = Arrays.copyOf(pages[0], Math.min(PAGE_SIZE, Math.max(firstLength, pages[0].length * 2)));
+                owned[0] = true;
+            }
+            for (int page = 1; page < pageCount; page++) {
+                if (pages[page] == null) {
+                    pages[page] = new long[PAGE_SIZE];
+                    owned[page] = true;
+                }
+            }
+        }
+
+        private void ownDirectory(int length) {
+            if (owned == null) {
+                pages = Arrays.copyOf(pages, length);
+                owned = new boolean[length];
+            } else if (length > pages.length) {
+                pages = Arrays.copyOf(pages, length);
+                owned = Arrays.copyOf(owned, length);
+            }
+        }
+    }
+
+    // Task id -> row, split by id hash into 2^bits IntIndexMap segments. Like the
+    // columns, a write after snapshot() copies the directory and its own segment only.
+    // Once segments average more than PAGE_SIZE ids, put() rebuilds it with twice as many.
+    private static final class RowIndex {
+        final int bits;
+        private IntIndexMap[] segments;
+        // Segments this index may write in place; null while the directory is shared
+        private boolean[] owned;
+        private int size;
+
+        RowIndex(int bits) {
+            this.bits = bits;
+            segments = new IntIndexMap[1 << bits];
+            owned = new boolean[segments.length];
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = new IntIndexMap(bits == 0 ? INITIAL_CAPACITY : PAGE_SIZE);
+                owned[i] = true;
+            }
+        }
+
+        private RowIndex(RowIndex source) {
+            bits = source.bits;
+            segments = source.segments;
+            size = source.size;
+        }
+
+        // Index of the given ids, one per row
+        static RowIndex rebuild(IntColumn ids, int size, int bits) {
+            RowIndex index = new RowIndex(bits);
+            for (int row = 0; row < size; row++) {
+                index.put(ids.get(row), row);
+            }
+            return index;
+        }
+
+        RowIndex snapshot() {
+            owned = null;
+            return new RowIndex(this);
+        }
+
+        boolean isCrowded() {
+            return size > PAGE_SIZE << bits;
+        }
+
+        int get(int id) {
+            return segments[segmentOf(id)].get(id);
+        }
+
+        int put(int id, int row) {
+            int previous = writable(segmentOf(id)).put(id, row);
+            if (previous < 0) size++;
+            return previous;
+        }
+
+        int remove(int id) {
+            int segment = segmentOf(id);
+            if (segments[segment].get(id) < 0) return -1;
+            size--;
+            return writable(segment).remove(id);
+        }
+
+        private IntIndexMap writable(int segment) {
+            if (owned == null) {
+                segments = segments.clone();
+                owned = new boolean[segments.length];
+            }
+            if (!owned[segment]) {
+                segments[segment] = segments[segment].copy();
+                owned[segment] = true;
+            }
+            return segments[segment];
+        }
+
+        // Top bits of the hash, so the low bits IntIndexMap probes with still vary within a segment
+        private int segmentOf(int id) {
+            return bits == 0 ? 0 : (id * 0x9E3779B9) >>> (32 - bits);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package GUI;
 
 import javax.swing.table.AbstractTableModel;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
@@ -10,18 +12,27 @@ public class TaskTableModel extends AbstractTableModel {
     private final String[] columnNames = {"Id", "Task", "Start", "End", "Dependencies", "Resources"};
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
+    // Rows ordered by task id, rebuilt only when the project reports a change.
+    // Formatted cell text is computed the first time a row is painted and then reused.
+    private Task[] rows = new Task[0];
+    private String[][] cellText = new String[0][];
+    private int rowsVersion = -1;
+    // Rows and teams are read from the same version of the project
+    private ProjectSnapshot snapshot;
+
     public TaskTableModel(Project project) {
         this.project = project;
     }
 
     public void setProject(Project project) {
         this.project = project;
+        rowsVersion = -1;
         fireTableDataChanged();
     }
 
     @Override
     public int getRowCount() {
-        return project.getTasks().size();
+        return rows().length;
     }
 
     @Override
@@ -36,22 +47,47 @@ public class TaskTableModel extends AbstractTableModel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        // Convert map values to list for indexing
-        List<Task> tasks = List.copyOf(project.getTasks().values());
-        Task task = tasks.get(rowIndex);
-        
+        Task task = rows()[rowIndex];
+
         switch (columnIndex) {
             case 0: return task.getId();
             case 1: return task.getTitle();
+            case 2:
+            case 3:
+            case 4:
+            case 5:
+                String[] text = cellText[columnIndex - 2];
+                if (text[rowIndex] == null) {
+                    text[rowIndex] = formatCell(task, columnIndex);
+                }
+                return text[rowIndex];
+            default: return null;
+        }
+    }
+
+    private String formatCell(Task task, int columnIndex) {
+        switch (columnIndex) {
             case 2: return task.getStartTime().format(dateFormatter);
             case 3: return task.getEndTime().format(dateFormatter);
-            case 4: 
+            case 4:
                 List<Integer> deps = task.getDependencyIds();
                 return deps.isEmpty() ? "" : deps.toString();
-            case 5: 
-                Set<String> team = project.getTeamForTask(task.getId());
+            case 5:
+                Set<String> team = snapshot.getTeamForTask(task.getId());
                 return team.isEmpty() ? "" : String.join(", ", team);
             default: return null;
         }
     }
-}
\ No newline at end of file
+
+    private Task[] rows() {
+        ProjectSnapshot latest = project.snapshot();
+        if (rowsVersion != latest.getVersion()) {
+            snapshot = latest;
+            rows = snapshot.tasks().toArray(new Task[0]);
+            Arrays.sort(rows, Comparator.comparingInt(Task::getId));
+            cellText = new String[4][rows.length];
+            rowsVersion = snapshot.getVersion();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,80 @@
+package GUI;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Read-side analyses on a loaded synthetic project
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class AnalysisBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int taskCount;
+
+    Project project;
+    int[] lookupIds;
+    int next;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, FileParseException {
+        stdout = SyntheticPlan.silenceStdout();
+        SyntheticPlan plan = SyntheticPlan.write(taskCount);
+        project = plan.load();
+        plan.delete();
+
+        Random random = new Random(7);
+        lookupIds = new int[4096];
+        for (int i = 0; i < lookupIds.length; i++) {
+            lookupIds[i] = 1 + random.nextInt(taskCount);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public List<String> findOverlappingTasks() {
+        return project.findOverlappingTasks();
+    }
+
+    @Benchmark
+    public Set<String> getTeamForTask() {
+        next = (next + 1) & (lookupIds.length - 1);
+        return project.getTeamForTask(lookupIds[next]);
+    }
+
+    // Reads every entry, as the overview and reports do
+    @Benchmark
+    public double getResourceEffort() {
+        double total = 0;
+        for (Map.Entry<String, Double> entry : project.getResourceEffort().entrySet()) {
+            total += entry.getValue();
+        }
+        return total;
+    }
+}
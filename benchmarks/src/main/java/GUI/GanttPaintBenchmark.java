@@ -0,0 +1,80 @@
+package GUI;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Off-screen GanttChartPanel painting of one viewport at varying scroll positions
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class GanttPaintBenchmark {
+    static final int VIEWPORT_WIDTH = 1200;
+    static final int VIEWPORT_HEIGHT = 600;
+
+    @Param({"1000", "100000", "1000000"})
+    int taskCount;
+
+    GanttChartPanel panel;
+    BufferedImage image;
+    int[] scrollOffsets;
+    int next;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, FileParseException {
+        stdout = SyntheticPlan.silenceStdout();
+        SyntheticPlan plan = SyntheticPlan.write(taskCount);
+        panel = new GanttChartPanel(plan.load());
+        plan.delete();
+        panel.setSize(VIEWPORT_WIDTH, panel.getPreferredSize().height);
+        image = new BufferedImage(VIEWPORT_WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+
+        Random random = new Random(7);
+        scrollOffsets = new int[4096];
+        int maxOffset = Math.max(1, panel.getHeight() - VIEWPORT_HEIGHT);
+        for (int i = 0; i < scrollOffsets.length; i++) {
+            scrollOffsets[i] = random.nextInt(maxOffset);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public BufferedImage paintViewport() {
+        next = (next + 1) & (scrollOffsets.length - 1);
+        int offset = scrollOffsets[next];
+        Graphics2D g = image.createGraphics();
+        try {
+            g.translate(0, -offset);
+            g.setClip(0, offset, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+            panel.paintComponent(g);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
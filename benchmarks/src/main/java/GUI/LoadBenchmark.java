@@ -0,0 +1,74 @@
+package GUI;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+// Project.loadTasks / loadResources on the synthetic plan files
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class LoadBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int taskCount;
+
+    SyntheticPlan plan;
+    Project tasksOnly;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, FileParseException {
+        stdout = SyntheticPlan.silenceStdout();
+        plan = SyntheticPlan.write(taskCount);
+        tasksOnly = new Project();
+        tasksOnly.loadTasks(plan.tasksFile.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        plan.delete();
+        System.setOut(stdout);
+    }
+
+    // A fresh copy of the task-only project for every loadResources call. The GC
+    // profiler counts the copy's allocations too, so loadResources' B/op is an upper bound.
+    @State(Scope.Thread)
+    public static class ResourceTarget {
+        Project project;
+
+        @Setup(Level.Invocation)
+        public void setUp(LoadBenchmark state) {
+            project = state.tasksOnly.copy();
+        }
+    }
+
+    @Benchmark
+    public Project loadTasks() throws FileParseException {
+        Project project = new Project();
+        project.loadTasks(plan.tasksFile.toString());
+        return project;
+    }
+
+    @Benchmark
+    public Project loadResources(ResourceTarget target) throws FileParseException {
+        target.project.loadResources(plan.resourcesFile.toString());
+        return target.project;
+    }
+}
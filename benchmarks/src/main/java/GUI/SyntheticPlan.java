@@ -0,0 +1,81 @@
+package GUI;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+// Deterministic tasks.txt / resources.txt pairs of a given size for the benchmarks.
+// Tasks start within one year, last 1 hour to 30 days and depend on up to three
+// earlier tasks; each resource holds 50 allocations of 10-100%.
+final class SyntheticPlan {
+    static final int TASKS_PER_RESOURCE = 50;
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd+HHmm");
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    final Path directory;
+    final Path tasksFile;
+    final Path resourcesFile;
+
+    private SyntheticPlan(Path directory) {
+        this.directory = directory;
+        this.tasksFile = directory.resolve("tasks.txt");
+        this.resourcesFile = directory.resolve("resources.txt");
+    }
+
+    static SyntheticPlan write(int taskCount) throws IOException {
+        SyntheticPlan plan = new SyntheticPlan(Files.createTempDirectory("planner-bench"));
+        Random random = new Random(42);
+
+        try (BufferedWriter out = Files.newBufferedWriter(plan.tasksFile)) {
+            for (int id = 1; id <= taskCount; id++) {
+                LocalDateTime start = BASE.plusMinutes(random.nextInt(365 * 24 * 60));
+                LocalDateTime end = start.plusMinutes(60 + random.nextInt(30 * 24 * 60));
+                out.write(id + ",Task " + id + "," + start.format(FORMAT) + "," + end.format(FORMAT));
+                int dependencies = id == 1 ? 0 : random.nextInt(4);
+                for (int d = 0; d < dependencies; d++) {
+                    out.write("," + (1 + random.nextInt(id - 1)));
+                }
+                out.newLine();
+            }
+        }
+
+        try (BufferedWriter out = Files.newBufferedWriter(plan.resourcesFile)) {
+            int resourceCount = Math.max(1, taskCount / TASKS_PER_RESOURCE);
+            for (int r = 0; r < resourceCount; r++) {
+                out.write("Resource" + r);
+                for (int a = 0; a < TASKS_PER_RESOURCE; a++) {
+                    out.write("," + (1 + random.nextInt(taskCount)) + ":" + (10 + 10 * random.nextInt(10)));
+                }
+                out.newLine();
+            }
+        }
+        return plan;
+    }
+
+    Project load() throws FileParseException {
+        Project project = new Project();
+        project.loadTasks(tasksFile.toString());
+        project.loadResources(resourcesFile.toString());
+        return project;
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(tasksFile);
+        Files.deleteIfExists(resourcesFile);
+        Files.deleteIfExists(directory);
+    }
+
+    // Project.load* report every file on System.out, which would flood the benchmark log
+    static PrintStream silenceStdout() {
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return original;
+    }
+}
@@ -0,0 +1,71 @@
+package GUI;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// TaskTableModel.getValueAt for one screenful of rows, as JTable asks while scrolling
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class TaskTableBenchmark {
+    static final int VISIBLE_ROWS = 40;
+
+    @Param({"1000", "100000", "1000000"})
+    int taskCount;
+
+    TaskTableModel model;
+    int[] firstRows;
+    int next;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, FileParseException {
+        stdout = SyntheticPlan.silenceStdout();
+        SyntheticPlan plan = SyntheticPlan.write(taskCount);
+        model = new TaskTableModel(plan.load());
+        plan.delete();
+
+        Random random = new Random(7);
+        firstRows = new int[4096];
+        for (int i = 0; i < firstRows.length; i++) {
+            firstRows[i] = random.nextInt(Math.max(1, taskCount - VISIBLE_ROWS));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public void getValueAt(Blackhole blackhole) {
+        next = (next + 1) & (firstRows.length - 1);
+        int first = firstRows[next];
+        int last = Math.min(model.getRowCount(), first + VISIBLE_ROWS);
+        for (int row = first; row < last; row++) {
+            for (int column = 0; column < model.getColumnCount(); column++) {
+                blackhole.consume(model.getValueAt(row, column));
+            }
+        }
+    }
+}